@@ -0,0 +1,57 @@
+package com.rest.springbootemployee.benchmark;
+
+import com.rest.springbootemployee.SpringBootEmployeeApplication;
+import com.rest.springbootemployee.pojo.Company;
+import com.rest.springbootemployee.pojo.Employee;
+import com.rest.springbootemployee.pojo.Gender;
+import com.rest.springbootemployee.service.CompanyService;
+import com.rest.springbootemployee.service.EmployeeService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.stream.IntStream;
+
+public class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    public static ConfigurableApplicationContext start(WebApplicationType webApplicationType) {
+        return builder(webApplicationType).run();
+    }
+
+    public static SpringApplicationBuilder builder(WebApplicationType webApplicationType) {
+        return new SpringApplicationBuilder(SpringBootEmployeeApplication.class)
+                .web(webApplicationType)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.r2dbc.url=r2dbc:h2:mem:///benchmark",
+                        "spring.r2dbc.username=sa",
+                        "spring.flyway.locations=classpath:db/migration/{vendor}",
+                        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.hibernate.ddl-auto=validate",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                        "spring.jpa.properties.hibernate.order_inserts=true",
+                        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+                        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+                        "spring.jpa.properties.hibernate.javax.cache.provider=org.ehcache.jsr107.EhcacheCachingProvider",
+                        "spring.jpa.properties.hibernate.javax.cache.uri=ehcache.xml",
+                        "logging.level.root=WARN");
+    }
+
+    public static void seed(ConfigurableApplicationContext context, int companyCount, int employeeCount) {
+        CompanyService companyService = context.getBean(CompanyService.class);
+        EmployeeService employeeService = context.getBean(EmployeeService.class);
+        int[] companyIds = IntStream.range(0, companyCount)
+                .map(index -> companyService.create(new Company(null, "Company" + index, null)).getId())
+                .toArray();
+        employeeService.createAll(IntStream.range(0, employeeCount)
+                .mapToObj(index -> () -> new Employee(null, "Employee" + index, 20 + index % 40,
+                        index % 2 == 0 ? Gender.FEMALE : Gender.MALE, 5000 + index % 10000,
+                        companyIds[index % companyIds.length])));
+    }
+}
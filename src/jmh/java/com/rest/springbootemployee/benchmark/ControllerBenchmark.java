@@ -0,0 +1,72 @@
+package com.rest.springbootemployee.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ControllerBenchmark {
+
+    private ConfigurableApplicationContext context;
+
+    private MockMvc client;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start(WebApplicationType.SERVLET);
+        BenchmarkApplication.seed(context, 100, 10000);
+        client = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult getEmployeesByPage() throws Exception {
+        return client.perform(MockMvcRequestBuilders.get("/employees")
+                        .param("page", "10").param("pageSize", "100"))
+                .andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getEmployeeById() throws Exception {
+        return client.perform(MockMvcRequestBuilders.get("/employees/{id}", 500)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getCompaniesByPage() throws Exception {
+        return client.perform(MockMvcRequestBuilders.get("/companies")
+                        .param("page", "0").param("pageSize", "10"))
+                .andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getCompaniesByPageWithEmployees() throws Exception {
+        return client.perform(MockMvcRequestBuilders.get("/companies")
+                        .param("page", "0").param("pageSize", "10").param("expand", "employees"))
+                .andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getCompanyEmployees() throws Exception {
+        return client.perform(MockMvcRequestBuilders.get("/companies/{id}/employees", 1)).andReturn();
+    }
+}
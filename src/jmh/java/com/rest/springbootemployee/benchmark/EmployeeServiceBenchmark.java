@@ -0,0 +1,58 @@
+package com.rest.springbootemployee.benchmark;
+
+import com.rest.springbootemployee.pojo.EmployeeSummary;
+import com.rest.springbootemployee.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeServiceBenchmark {
+
+    private static final int EMPLOYEE_COUNT = 50000;
+
+    @Param({"0", "50", "450"})
+    private int pageNumber;
+
+    @Param({"100"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+
+    private EmployeeService employeeService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start(WebApplicationType.NONE);
+        BenchmarkApplication.seed(context, 10, EMPLOYEE_COUNT);
+        employeeService = context.getBean(EmployeeService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<EmployeeSummary> findByPage() {
+        return employeeService.findByPage(pageNumber, pageSize);
+    }
+
+    @Benchmark
+    public List<EmployeeSummary> findAfter() {
+        return employeeService.findAfter(pageNumber * pageSize, pageSize);
+    }
+}
@@ -0,0 +1,70 @@
+package com.rest.springbootemployee.benchmark;
+
+import com.rest.springbootemployee.controller.dto.CompanyResponse;
+import com.rest.springbootemployee.controller.dto.EmployeeResponse;
+import com.rest.springbootemployee.controller.mapper.CompanyMapper;
+import com.rest.springbootemployee.controller.mapper.EmployeeMapper;
+import com.rest.springbootemployee.pojo.Company;
+import com.rest.springbootemployee.pojo.Employee;
+import com.rest.springbootemployee.pojo.Gender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.beans.BeanUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapperBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int employeeCount;
+
+    private EmployeeMapper employeeMapper;
+
+    private CompanyMapper companyMapper;
+
+    private Employee employee;
+
+    private Company company;
+
+    @Setup
+    public void setUp() {
+        employeeMapper = new EmployeeMapper();
+        companyMapper = new CompanyMapper();
+        ReflectionTestUtils.setField(companyMapper, "employeeMapper", employeeMapper);
+        employee = new Employee(1, "Susan", 23, Gender.FEMALE, 10000, 1);
+        List<Employee> employees = new ArrayList<>(employeeCount);
+        for (int i = 0; i < employeeCount; i++) {
+            employees.add(new Employee(i, "Employee" + i, 23, Gender.FEMALE, 10000, 1));
+        }
+        company = new Company(1, "OOCL", employees);
+    }
+
+    @Benchmark
+    public EmployeeResponse employeeToResponse() {
+        return employeeMapper.toResponse(employee);
+    }
+
+    @Benchmark
+    public EmployeeResponse employeeToResponseWithBeanUtils() {
+        EmployeeResponse employeeResponse = new EmployeeResponse();
+        BeanUtils.copyProperties(employee, employeeResponse);
+        return employeeResponse;
+    }
+
+    @Benchmark
+    public CompanyResponse companyToResponse() {
+        return companyMapper.toResponse(company);
+    }
+}
@@ -0,0 +1,90 @@
+package com.rest.springbootemployee.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+// both pools keep their default ten connections, so the difference is in how requests wait for them
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(64)
+public class StackLoadBenchmark {
+
+    private static final int CONCURRENT_CLIENTS = 64;
+
+    static {
+        System.setProperty("http.maxConnections", Integer.toString(CONCURRENT_CLIENTS));
+    }
+
+    @Param({"SERVLET", "REACTIVE"})
+    public WebApplicationType stack;
+
+    private ConfigurableApplicationContext context;
+
+    private String baseUrl;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start(stack);
+        BenchmarkApplication.seed(context, 100, 10000);
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long getEmployeesByPage() throws IOException {
+        return get("/employees?page=10&pageSize=100");
+    }
+
+    @Benchmark
+    public long getEmployeeById() throws IOException {
+        return get("/employees/500");
+    }
+
+    @Benchmark
+    public long getCompaniesByPage() throws IOException {
+        return get("/companies?page=0&pageSize=10");
+    }
+
+    @Benchmark
+    public long getCompanyEmployees() throws IOException {
+        return get("/companies/1/employees");
+    }
+
+    // reads the whole body so the connection goes back to the keep-alive cache
+    private long get(String path) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+        if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+            throw new IllegalStateException("GET " + path + " returned " + connection.getResponseCode());
+        }
+        long length = 0;
+        byte[] buffer = new byte[8192];
+        try (InputStream body = connection.getInputStream()) {
+            for (int read = body.read(buffer); read != -1; read = body.read(buffer)) {
+                length += read;
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,154 @@
+package com.rest.springbootemployee.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+// statements sleep outside the driver's locks, so this shows Tomcat's thread cap going away, not driver pinning
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(64)
+public class VirtualThreadBenchmark {
+
+    private static final int CONCURRENT_CLIENTS = 64;
+
+    private static final int TOMCAT_THREADS = 8;
+
+    private static final long STATEMENT_LATENCY_MILLIS = 50;
+
+    static {
+        System.setProperty("http.maxConnections", Integer.toString(CONCURRENT_CLIENTS));
+    }
+
+    public enum RequestThreads {
+        PLATFORM, VIRTUAL
+    }
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    public RequestThreads requestThreads;
+
+    @Param({"8", "32"})
+    public int poolSize;
+
+    private ConfigurableApplicationContext context;
+
+    private String baseUrl;
+
+    private volatile boolean latencyEnabled;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.builder(WebApplicationType.SERVLET)
+                .properties(
+                        "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "server.tomcat.threads.min-spare=" + TOMCAT_THREADS,
+                        "spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                        "virtual-threads.enabled=" + (requestThreads == RequestThreads.VIRTUAL))
+                .initializers(applicationContext -> applicationContext.getBeanFactory()
+                        .addBeanPostProcessor(new StatementLatencyPostProcessor()))
+                .run();
+        BenchmarkApplication.seed(context, 100, 10000);
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        latencyEnabled = true;
+    }
+
+    @TearDown
+    public void tearDown() {
+        latencyEnabled = false;
+        context.close();
+    }
+
+    @Benchmark
+    public long getEmployeesByPage() throws IOException {
+        return get("/employees?page=10&pageSize=100");
+    }
+
+    @Benchmark
+    public long getCompanyEmployees() throws IOException {
+        return get("/companies/1/employees");
+    }
+
+    private long get(String path) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+        if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+            throw new IllegalStateException("GET " + path + " returned " + connection.getResponseCode());
+        }
+        long length = 0;
+        byte[] buffer = new byte[8192];
+        try (InputStream body = connection.getInputStream()) {
+            for (int read = body.read(buffer); read != -1; read = body.read(buffer)) {
+                length += read;
+            }
+        }
+        return length;
+    }
+
+    private final class StatementLatencyPostProcessor implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource) || bean instanceof DelegatingDataSource) {
+                return bean;
+            }
+            return new DelegatingDataSource((DataSource) bean) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return (Connection) withLatency(super.getConnection(), Connection.class);
+                }
+
+                @Override
+                public Connection getConnection(String username, String password) throws SQLException {
+                    return (Connection) withLatency(super.getConnection(username, password), Connection.class);
+                }
+            };
+        }
+
+        private Object withLatency(Object target, Class<?> type) {
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, arguments) -> {
+                        if (latencyEnabled && target instanceof Statement && method.getName().startsWith("execute")) {
+                            Thread.sleep(STATEMENT_LATENCY_MILLIS);
+                        }
+                        Object result = invoke(target, method, arguments);
+                        if (Statement.class.isAssignableFrom(method.getReturnType()) && result != null) {
+                            return withLatency(result, method.getReturnType());
+                        }
+                        return result;
+                    });
+        }
+
+        private Object invoke(Object target, Method method, Object[] arguments) throws Throwable {
+            try {
+                return method.invoke(target, arguments);
+            } catch (InvocationTargetException exception) {
+                throw exception.getCause();
+            }
+        }
+    }
+}
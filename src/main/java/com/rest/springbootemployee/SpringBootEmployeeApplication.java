@@ -2,8 +2,12 @@ package com.rest.springbootemployee;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// the reactive profile builds its own R2DBC pool, see R2dbcConfiguration
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
+@EnableScheduling
 public class SpringBootEmployeeApplication {
 
 	public static void main(String[] args) {
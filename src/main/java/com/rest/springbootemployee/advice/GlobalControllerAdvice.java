@@ -2,6 +2,15 @@ package com.rest.springbootemployee.advice;
 
 import com.rest.springbootemployee.execption.CompanyNotFoundException;
 import com.rest.springbootemployee.execption.EmployeeNotFoundException;
+import com.rest.springbootemployee.execption.InvalidCursorException;
+import com.rest.springbootemployee.execption.InvalidFieldsException;
+import com.rest.springbootemployee.execption.InvalidGenderException;
+import com.rest.springbootemployee.execption.InvalidGroupingException;
+import com.rest.springbootemployee.execption.InvalidLimitException;
+import com.rest.springbootemployee.execption.InvalidSortException;
+import com.rest.springbootemployee.execption.TooManyIdsException;
+import com.rest.springbootemployee.execption.UnsupportedParameterException;
+import com.rest.springbootemployee.execption.VersionMismatchException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -15,4 +24,18 @@ public class GlobalControllerAdvice {
     public ErrorResponse handleNotFoundException(Exception exception){
         return new ErrorResponse(HttpStatus.NOT_FOUND.value(), exception.getMessage());
     }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler({InvalidCursorException.class, InvalidGroupingException.class, InvalidSortException.class,
+            TooManyIdsException.class, InvalidFieldsException.class, InvalidGenderException.class,
+            InvalidLimitException.class, UnsupportedParameterException.class})
+    public ErrorResponse handleBadRequestException(Exception exception){
+        return new ErrorResponse(HttpStatus.BAD_REQUEST.value(), exception.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    @ExceptionHandler({VersionMismatchException.class})
+    public ErrorResponse handlePreconditionFailedException(Exception exception){
+        return new ErrorResponse(HttpStatus.PRECONDITION_FAILED.value(), exception.getMessage());
+    }
 }
@@ -0,0 +1,23 @@
+package com.rest.springbootemployee.controller;
+
+import com.rest.springbootemployee.service.CacheRegionStatistics;
+import com.rest.springbootemployee.service.CacheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/caches")
+public class CacheController {
+
+    @Autowired
+    private CacheService cacheService;
+
+    @GetMapping("/statistics")
+    public List<CacheRegionStatistics> getStatistics(){
+        return cacheService.getRegionStatistics();
+    }
+}
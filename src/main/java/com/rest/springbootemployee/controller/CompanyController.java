@@ -1,36 +1,87 @@
 package com.rest.springbootemployee.controller;
 
+import com.rest.springbootemployee.controller.dto.CompanyOverviewResponse;
 import com.rest.springbootemployee.controller.dto.CompanyRequest;
 import com.rest.springbootemployee.controller.dto.CompanyResponse;
+import com.rest.springbootemployee.controller.dto.CompanySummaryResponse;
+import com.rest.springbootemployee.controller.dto.CursorPageResponse;
 import com.rest.springbootemployee.controller.dto.EmployeeResponse;
 import com.rest.springbootemployee.controller.mapper.CompanyMapper;
+import com.rest.springbootemployee.controller.mapper.CursorMapper;
 import com.rest.springbootemployee.controller.mapper.EmployeeMapper;
+import com.rest.springbootemployee.controller.mapper.EntityTagMapper;
+import com.rest.springbootemployee.controller.mapper.FieldsMapper;
 import com.rest.springbootemployee.repository.CompanyRepository;
 import com.rest.springbootemployee.pojo.Company;
-import com.rest.springbootemployee.pojo.Employee;
+import com.rest.springbootemployee.pojo.CompanyOverview;
+import com.rest.springbootemployee.pojo.CompanyVersion;
+import com.rest.springbootemployee.pojo.EmployeeSummary;
 import com.rest.springbootemployee.service.CompanyService;
+import com.rest.springbootemployee.service.CompanySummaryReconciliation;
+import com.rest.springbootemployee.service.CompanySummaryService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 
 @RestController
 @RequestMapping("/companies")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class CompanyController {
 
+    private static final String EXPAND_EMPLOYEES = "expand=employees";
+
     @Autowired
     private CompanyService companyService;
 
+    @Autowired
+    private CompanySummaryService companySummaryService;
+
     @Autowired
     private CompanyMapper companyMapper;
 
     @Autowired
     private EmployeeMapper employeeMapper;
 
+    @Autowired
+    private CursorMapper cursorMapper;
+
+    @Autowired
+    private EntityTagMapper entityTagMapper;
+
+    @Autowired
+    private FieldsMapper fieldsMapper;
+
     @GetMapping
+    public List<CompanyOverviewResponse> getCompanyOverviews(){
+        return companyService.findAllOverviews()
+                .stream()
+                .map(companyMapper::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    @GetMapping(params = {"fields"})
+    public List<Map<String, Object>> getCompanyFields(@RequestParam List<String> fields,
+                                                      @RequestParam(required = false) Integer page,
+                                                      @RequestParam(required = false) Integer pageSize,
+                                                      WebRequest request){
+        fieldsMapper.toFields(fields, request, "expand", "limit", "after");
+        if (page != null && pageSize != null) {
+            return companyService.findOverviewFieldsByPage(page, pageSize, fields);
+        }
+        return companyService.findOverviewFields(fields);
+    }
+
+    @GetMapping(params = {EXPAND_EMPLOYEES,"!fields"})
     public List<CompanyResponse> getCompanies(){
         return companyService.findAll()
                 .stream()
@@ -39,8 +90,35 @@ public class CompanyController {
     }
 
     @GetMapping("/{id}")
-    public CompanyResponse getCompanyById(@PathVariable Integer id){
-        return companyMapper.toResponse(companyService.findById(id));
+    public CompanyResponse getCompanyById(@PathVariable Integer id, WebRequest request){
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(entityTagMapper.toEntityTag(companyService.findVersion(id)))) {
+            return null;
+        }
+        Company company = companyService.findById(id);
+        if (request.checkNotModified(entityTagMapper.toEntityTag(CompanyVersion.of(company)))) {
+            return null;
+        }
+        return companyMapper.toResponse(company);
+    }
+
+    @GetMapping("/summaries")
+    public List<CompanySummaryResponse> getCompanySummaries(){
+        return companySummaryService.findAll()
+                .stream()
+                .map(companyMapper::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    @PostMapping("/summaries/reconcile")
+    public CompanySummaryReconciliation reconcileCompanySummaries(){
+        return companySummaryService.reconcile();
+    }
+
+    @GetMapping("/{id}/summary")
+    public CompanySummaryResponse getCompanySummaryById(@PathVariable Integer id){
+        companyService.findById(id);
+        return companyMapper.toResponse(companySummaryService.findByCompanyId(id));
     }
 
     @GetMapping("/{id}/employees")
@@ -51,7 +129,44 @@ public class CompanyController {
                 .collect(Collectors.toList());
     }
 
-    @GetMapping(params = {"page","pageSize"})
+    @GetMapping(value = "/{id}/employees", params = {"fields"})
+    public List<Map<String, Object>> getCompanyEmployeeFieldsById(@PathVariable Integer id, @RequestParam List<String> fields,
+                                                                  @RequestParam(required = false) Integer page,
+                                                                  @RequestParam(required = false) Integer pageSize,
+                                                                  WebRequest request){
+        fieldsMapper.toFields(fields, request, "sort", "limit", "after");
+        if (page != null && pageSize != null) {
+            return companyService.findEmployeeFieldsByPage(id, page, pageSize, fields);
+        }
+        return companyService.findEmployeeFieldsById(id, fields);
+    }
+
+    @GetMapping(value = "/{id}/employees", params = {"page","pageSize","!fields"})
+    public List<EmployeeResponse> findCompanyEmployeesByPage(@PathVariable Integer id, @RequestParam int page,
+                                                             @RequestParam int pageSize, Sort sort){
+        return companyService.findEmployeesByPage(id, page, pageSize, sort)
+                .stream()
+                .map(employeeMapper::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    @GetMapping(value = "/{id}/employees", params = {"limit","!fields"})
+    public CursorPageResponse<EmployeeResponse> findCompanyEmployeesByCursor(@PathVariable Integer id,
+                                                                             @RequestParam(required = false) String after,
+                                                                             @RequestParam int limit){
+        return cursorMapper.toPage(after, limit, (lastId, size) -> companyService.findEmployeesAfter(id, lastId, size),
+                EmployeeSummary::getId, employeeMapper::toResponse);
+    }
+
+    @GetMapping(params = {"page","pageSize","!fields"})
+    public List<CompanyOverviewResponse> findCompanyOverviewsByPage(@RequestParam int page, @RequestParam int pageSize){
+        return companyService.findOverviewsByPage(page, pageSize)
+                .stream()
+                .map(companyMapper::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    @GetMapping(params = {"page","pageSize",EXPAND_EMPLOYEES,"!fields"})
     public List<CompanyResponse> findCompaniesByPage(@RequestParam int page, @RequestParam int pageSize){
         return companyService.findByPage(page, pageSize)
                 .stream()
@@ -59,6 +174,17 @@ public class CompanyController {
                 .collect(Collectors.toList());
     }
 
+    @GetMapping(params = {"limit","!fields"})
+    public CursorPageResponse<CompanyOverviewResponse> findCompanyOverviewsByCursor(@RequestParam(required = false) String after, @RequestParam int limit){
+        return cursorMapper.toPage(after, limit, companyService::findOverviewsAfter, CompanyOverview::getId,
+                companyMapper::toResponse);
+    }
+
+    @GetMapping(params = {"limit",EXPAND_EMPLOYEES,"!fields"})
+    public CursorPageResponse<CompanyResponse> findCompaniesByCursor(@RequestParam(required = false) String after, @RequestParam int limit){
+        return cursorMapper.toPage(after, limit, companyService::findAfter, Company::getId, companyMapper::toResponse);
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public CompanyResponse create(@RequestBody CompanyRequest companyRequest){
@@ -67,9 +193,16 @@ public class CompanyController {
     }
 
     @PutMapping("/{id}")
-    public CompanyResponse update(@PathVariable Integer id, @RequestBody CompanyRequest companyRequest){
-        Company company = companyService.update(id, companyMapper.toEntity(companyRequest));
-        return companyMapper.toResponse(company);
+    public ResponseEntity<CompanyResponse> update(@PathVariable Integer id,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                  @RequestBody CompanyRequest companyRequest){
+        Long expectedVersion = entityTagMapper.isAny(ifMatch)
+                ? null
+                : entityTagMapper.toVersion(ifMatch, companyService.findVersion(id));
+        Company company = companyService.update(id, companyMapper.toEntity(companyRequest), expectedVersion);
+        return ResponseEntity.ok()
+                .eTag(entityTagMapper.toEntityTag(CompanyVersion.of(company)))
+                .body(companyMapper.toResponse(company));
     }
 
     @DeleteMapping("/{id}")
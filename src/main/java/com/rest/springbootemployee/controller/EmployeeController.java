@@ -1,21 +1,49 @@
 package com.rest.springbootemployee.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.rest.springbootemployee.controller.dto.CursorPageResponse;
 import com.rest.springbootemployee.controller.dto.EmployeeRequest;
 import com.rest.springbootemployee.controller.dto.EmployeeResponse;
+import com.rest.springbootemployee.controller.dto.MultiGetResponse;
+import com.rest.springbootemployee.controller.mapper.CursorMapper;
 import com.rest.springbootemployee.controller.mapper.EmployeeMapper;
+import com.rest.springbootemployee.controller.mapper.EntityTagMapper;
+import com.rest.springbootemployee.controller.mapper.FieldsMapper;
 import com.rest.springbootemployee.repository.EmployeeRepository;
+import com.rest.springbootemployee.pojo.AgeStatistics;
 import com.rest.springbootemployee.pojo.Employee;
+import com.rest.springbootemployee.pojo.EmployeeSummary;
+import com.rest.springbootemployee.pojo.Gender;
+import com.rest.springbootemployee.pojo.SalaryStatistics;
+import com.rest.springbootemployee.service.BulkCreateResult;
 import com.rest.springbootemployee.service.EmployeeService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/employees")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class EmployeeController {
 
     @Autowired
@@ -24,35 +52,131 @@ public class EmployeeController {
     @Autowired
     private EmployeeMapper employeeMapper;
 
+    @Autowired
+    private CursorMapper cursorMapper;
+
+    @Autowired
+    private EntityTagMapper entityTagMapper;
+
+    @Autowired
+    private FieldsMapper fieldsMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping
     public List<EmployeeResponse> getEmployees(){
         return employeeService.findAll()
                 .stream()
-                .map(employee -> employeeMapper.toResponse(employee))
+                .map(employeeMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
+    @GetMapping(params = {"fields"})
+    public List<Map<String, Object>> getEmployeeFields(@RequestParam List<String> fields,
+                                                       @RequestParam(required = false) Integer page,
+                                                       @RequestParam(required = false) Integer pageSize,
+                                                       WebRequest request){
+        fieldsMapper.toFields(fields, request, "gender", "ids", "limit", "after");
+        if (page != null && pageSize != null) {
+            return employeeService.findFieldsByPage(page, pageSize, fields);
+        }
+        return employeeService.findFields(fields);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportEmployees(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream());
+        // each record carries its own terminator, so an empty export is an empty body
+        generator.setRootValueSeparator(null);
+        try {
+            employeeService.streamAll(employee -> {
+                try {
+                    generator.writeObject(employeeMapper.toResponse(employee));
+                    generator.writeRaw('\n');
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            });
+        } finally {
+            generator.close();
+        }
+    }
+
+    @GetMapping("/statistics/salary")
+    public List<SalaryStatistics> getSalaryStatistics(@RequestParam(defaultValue = EmployeeService.GROUP_BY_COMPANY) String groupBy){
+        return employeeService.getSalaryStatistics(groupBy);
+    }
+
+    @GetMapping("/statistics/age")
+    public List<AgeStatistics> getAgeStatistics(@RequestParam(defaultValue = EmployeeService.GROUP_BY_NONE) String groupBy){
+        return employeeService.getAgeStatistics(groupBy);
+    }
+
     @GetMapping("/{id}")
-    public EmployeeResponse getEmployeeById(@PathVariable Integer id){
-        return employeeMapper.toResponse(employeeService.findById(id));
+    public EmployeeResponse getEmployeeById(@PathVariable Integer id, WebRequest request){
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(entityTagMapper.toEntityTag(employeeService.findVersion(id)))) {
+            return null;
+        }
+        Employee employee = employeeService.findById(id);
+        if (request.checkNotModified(entityTagMapper.toEntityTag(employee.getVersion()))) {
+            return null;
+        }
+        return employeeMapper.toResponse(employee);
     }
 
-    @GetMapping(params = {"gender"})
+    @GetMapping(value = "/{id}", params = {"fields"})
+    public Map<String, Object> getEmployeeFieldsById(@PathVariable Integer id, @RequestParam List<String> fields){
+        return employeeService.findFieldsById(id, fields);
+    }
+
+    @GetMapping(params = {"gender","!fields"})
     public List<EmployeeResponse> getEmployeeByGender(@RequestParam("gender")String gender){
-        return employeeService.findByGender(gender)
+        return employeeService.findByGender(Gender.fromValue(gender))
                 .stream()
                 .map(employeeMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
-    @GetMapping(params = {"page","pageSize"})
+    @GetMapping(params = {"ids","!fields"})
+    public MultiGetResponse<EmployeeResponse> getEmployeesByIds(@RequestParam List<Integer> ids){
+        return findAllById(ids);
+    }
+
+    @PostMapping("/by-ids")
+    public MultiGetResponse<EmployeeResponse> postEmployeesByIds(@RequestBody List<Integer> ids){
+        return findAllById(ids);
+    }
+
+    private MultiGetResponse<EmployeeResponse> findAllById(List<Integer> ids) {
+        Map<Integer, Employee> employees = employeeService.findAllById(ids);
+        List<EmployeeResponse> employeeResponses = new ArrayList<>(employees.size());
+        for (Employee employee : employees.values()) {
+            employeeResponses.add(employeeMapper.toResponse(employee));
+        }
+        List<Integer> missingIds = ids.stream()
+                .filter(id -> id != null && !employees.containsKey(id))
+                .distinct()
+                .collect(Collectors.toList());
+        return new MultiGetResponse<>(employeeResponses, missingIds);
+    }
+
+    @GetMapping(params = {"page","pageSize","!fields"})
     public List<EmployeeResponse> findByPage(@RequestParam int page, @RequestParam int pageSize){
         return employeeService.findByPage(page, pageSize)
                  .stream()
-                 .map(employee -> employeeMapper.toResponse(employee))
+                 .map(employeeMapper::toResponse)
                  .collect(Collectors.toList());
     }
 
+    @GetMapping(params = {"limit","!fields"})
+    public CursorPageResponse<EmployeeResponse> findByCursor(@RequestParam(required = false) String after, @RequestParam int limit){
+        return cursorMapper.toPage(after, limit, employeeService::findAfter, EmployeeSummary::getId,
+                employeeMapper::toResponse);
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public EmployeeResponse create(@RequestBody EmployeeRequest employeeRequest){
@@ -60,10 +184,31 @@ public class EmployeeController {
         return employeeMapper.toResponse(employee);
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public BulkCreateResult createAll(@RequestBody List<EmployeeRequest> employeeRequests){
+        return employeeService.createAll(employeeRequests.stream()
+                .map(employeeRequest -> () -> employeeMapper.toEntity(employeeRequest)));
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public BulkCreateResult createAll(HttpServletRequest request) throws IOException {
+        ObjectReader employeeRequestReader = objectMapper.readerFor(EmployeeRequest.class);
+        // one line at a time, so a malformed line fails only its own chunk
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
+            return employeeService.createAll(lines.lines()
+                    .filter(line -> !line.trim().isEmpty())
+                    .map(line -> () -> employeeMapper.toEntity(readEmployeeRequest(employeeRequestReader, line))));
+        }
+    }
+
     @PutMapping("/{id}")
-    public EmployeeResponse EmployeeResponse(@PathVariable int id, @RequestBody EmployeeRequest employeeRequest){
-        Employee employee = employeeService.update(id, employeeMapper.toEntity(employeeRequest));
-        return employeeMapper.toResponse(employee);
+    public ResponseEntity<EmployeeResponse> EmployeeResponse(@PathVariable int id,
+                                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                             @RequestBody EmployeeRequest employeeRequest){
+        Employee employee = employeeService.update(id, employeeMapper.toEntity(employeeRequest), entityTagMapper.toVersion(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(entityTagMapper.toEntityTag(employee.getVersion()))
+                .body(employeeMapper.toResponse(employee));
     }
 
     @DeleteMapping("/{id}")
@@ -71,4 +216,12 @@ public class EmployeeController {
     public void delete(@PathVariable int id){
         employeeService.delete(id);
     }
+
+    private static EmployeeRequest readEmployeeRequest(ObjectReader employeeRequestReader, String line) {
+        try {
+            return employeeRequestReader.readValue(line);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
 }
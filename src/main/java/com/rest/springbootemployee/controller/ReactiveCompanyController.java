@@ -0,0 +1,108 @@
+package com.rest.springbootemployee.controller;
+
+import com.rest.springbootemployee.controller.dto.CompanyOverviewResponse;
+import com.rest.springbootemployee.controller.dto.CompanyRequest;
+import com.rest.springbootemployee.controller.dto.CompanyResponse;
+import com.rest.springbootemployee.controller.dto.EmployeeResponse;
+import com.rest.springbootemployee.controller.mapper.CompanyMapper;
+import com.rest.springbootemployee.controller.mapper.EmployeeMapper;
+import com.rest.springbootemployee.controller.mapper.EntityTagMapper;
+import com.rest.springbootemployee.execption.UnsupportedParameterException;
+import com.rest.springbootemployee.pojo.CompanyVersion;
+import com.rest.springbootemployee.service.ReactiveCompanyService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+// cursors, expansion, field projections and paged employees are servlet-only; their parameters are rejected
+@RestController
+@RequestMapping("/companies")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCompanyController {
+
+    private static final String[] UNSUPPORTED_PARAMETERS = {"expand", "limit", "after", "fields"};
+
+    private static final String[] UNSUPPORTED_EMPLOYEE_PARAMETERS = {"page", "pageSize", "sort", "limit", "after", "fields"};
+
+    @Autowired
+    private ReactiveCompanyService reactiveCompanyService;
+
+    @Autowired
+    private CompanyMapper companyMapper;
+
+    @Autowired
+    private EmployeeMapper employeeMapper;
+
+    @Autowired
+    private EntityTagMapper entityTagMapper;
+
+    @GetMapping
+    public Flux<CompanyOverviewResponse> getCompanyOverviews(ServerWebExchange exchange){
+        rejectUnsupported(exchange, UNSUPPORTED_PARAMETERS);
+        return reactiveCompanyService.findAllOverviews().map(companyMapper::toResponse);
+    }
+
+    @GetMapping(params = {"page","pageSize"})
+    public Flux<CompanyOverviewResponse> findCompanyOverviewsByPage(@RequestParam int page, @RequestParam int pageSize,
+                                                                    ServerWebExchange exchange){
+        rejectUnsupported(exchange, UNSUPPORTED_PARAMETERS);
+        return reactiveCompanyService.findOverviewsByPage(page, pageSize).map(companyMapper::toResponse);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<CompanyResponse> getCompanyById(@PathVariable Integer id, ServerWebExchange exchange){
+        return reactiveCompanyService.findById(id)
+                .filter(company -> !exchange.checkNotModified(entityTagMapper.toEntityTag(CompanyVersion.of(company))))
+                .map(companyMapper::toResponse);
+    }
+
+    @GetMapping("/{id}/employees")
+    public Flux<EmployeeResponse> getCompanyEmployeesById(@PathVariable Integer id, ServerWebExchange exchange){
+        rejectUnsupported(exchange, UNSUPPORTED_EMPLOYEE_PARAMETERS);
+        return reactiveCompanyService.findEmployeesById(id).map(employeeMapper::toResponse);
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<CompanyResponse> create(@RequestBody CompanyRequest companyRequest){
+        return reactiveCompanyService.create(companyMapper.toEntity(companyRequest))
+                .map(companyMapper::toResponse);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<CompanyResponse>> update(@PathVariable Integer id,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                        @RequestBody CompanyRequest companyRequest){
+        Mono<Optional<Long>> expectedVersion = entityTagMapper.isAny(ifMatch)
+                ? Mono.just(Optional.empty())
+                : reactiveCompanyService.findById(id)
+                        .map(company -> Optional.of(entityTagMapper.toVersion(ifMatch, CompanyVersion.of(company))));
+        return expectedVersion
+                .flatMap(version -> reactiveCompanyService.update(id, companyMapper.toEntity(companyRequest), version.orElse(null)))
+                .map(company -> ResponseEntity.ok()
+                        .eTag(entityTagMapper.toEntityTag(CompanyVersion.of(company)))
+                        .body(companyMapper.toResponse(company)));
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> delete(@PathVariable Integer id){
+        return reactiveCompanyService.delete(id);
+    }
+
+    private static void rejectUnsupported(ServerWebExchange exchange, String... parameters) {
+        for (String parameter : parameters) {
+            if (exchange.getRequest().getQueryParams().containsKey(parameter)) {
+                throw new UnsupportedParameterException();
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.rest.springbootemployee.controller;
+
+import com.rest.springbootemployee.controller.dto.EmployeeRequest;
+import com.rest.springbootemployee.controller.dto.EmployeeResponse;
+import com.rest.springbootemployee.controller.mapper.EmployeeMapper;
+import com.rest.springbootemployee.controller.mapper.EntityTagMapper;
+import com.rest.springbootemployee.execption.UnsupportedParameterException;
+import com.rest.springbootemployee.pojo.Gender;
+import com.rest.springbootemployee.service.ReactiveEmployeeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// cursors, multi-get and field projections are servlet-only; their parameters are rejected
+@RestController
+@RequestMapping("/employees")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEmployeeController {
+
+    private static final String[] UNSUPPORTED_PARAMETERS = {"ids", "limit", "after", "fields"};
+
+    @Autowired
+    private ReactiveEmployeeService reactiveEmployeeService;
+
+    @Autowired
+    private EmployeeMapper employeeMapper;
+
+    @Autowired
+    private EntityTagMapper entityTagMapper;
+
+    @GetMapping
+    public Flux<EmployeeResponse> getEmployees(ServerWebExchange exchange){
+        rejectUnsupported(exchange, UNSUPPORTED_PARAMETERS);
+        return reactiveEmployeeService.findAll().map(employeeMapper::toResponse);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<EmployeeResponse> getEmployeeById(@PathVariable Integer id, ServerWebExchange exchange){
+        rejectUnsupported(exchange, "fields");
+        if (exchange.getRequest().getHeaders().containsKey(HttpHeaders.IF_NONE_MATCH)) {
+            return reactiveEmployeeService.findVersion(id)
+                    .flatMap(version -> exchange.checkNotModified(entityTagMapper.toEntityTag(version))
+                            ? Mono.empty()
+                            : findEmployeeById(id, exchange));
+        }
+        return findEmployeeById(id, exchange);
+    }
+
+    private Mono<EmployeeResponse> findEmployeeById(Integer id, ServerWebExchange exchange) {
+        return reactiveEmployeeService.findById(id)
+                .filter(employee -> !exchange.checkNotModified(entityTagMapper.toEntityTag(employee.getVersion())))
+                .map(employeeMapper::toResponse);
+    }
+
+    @GetMapping(params = {"gender"})
+    public Flux<EmployeeResponse> getEmployeeByGender(@RequestParam("gender")String gender, ServerWebExchange exchange){
+        rejectUnsupported(exchange, UNSUPPORTED_PARAMETERS);
+        return reactiveEmployeeService.findByGender(Gender.fromValue(gender)).map(employeeMapper::toResponse);
+    }
+
+    @GetMapping(params = {"page","pageSize"})
+    public Flux<EmployeeResponse> findByPage(@RequestParam int page, @RequestParam int pageSize, ServerWebExchange exchange){
+        rejectUnsupported(exchange, UNSUPPORTED_PARAMETERS);
+        return reactiveEmployeeService.findByPage(page, pageSize).map(employeeMapper::toResponse);
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<EmployeeResponse> create(@RequestBody EmployeeRequest employeeRequest){
+        return reactiveEmployeeService.create(employeeMapper.toEntity(employeeRequest))
+                .map(employeeMapper::toResponse);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<EmployeeResponse>> update(@PathVariable int id,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                         @RequestBody EmployeeRequest employeeRequest){
+        return reactiveEmployeeService.update(id, employeeMapper.toEntity(employeeRequest), entityTagMapper.toVersion(ifMatch))
+                .map(employee -> ResponseEntity.ok()
+                        .eTag(entityTagMapper.toEntityTag(employee.getVersion()))
+                        .body(employeeMapper.toResponse(employee)));
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> delete(@PathVariable int id){
+        return reactiveEmployeeService.delete(id);
+    }
+
+    private static void rejectUnsupported(ServerWebExchange exchange, String... parameters) {
+        for (String parameter : parameters) {
+            if (exchange.getRequest().getQueryParams().containsKey(parameter)) {
+                throw new UnsupportedParameterException();
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.rest.springbootemployee.controller.dto;
+
+public class CompanyOverviewResponse {
+
+    private Integer id;
+
+    private String companyName;
+
+    private Long employeeCount;
+
+    public CompanyOverviewResponse() {
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public String getCompanyName() {
+        return companyName;
+    }
+
+    public void setCompanyName(String companyName) {
+        this.companyName = companyName;
+    }
+
+    public Long getEmployeeCount() {
+        return employeeCount;
+    }
+
+    public void setEmployeeCount(Long employeeCount) {
+        this.employeeCount = employeeCount;
+    }
+}
@@ -0,0 +1,47 @@
+package com.rest.springbootemployee.controller.dto;
+
+public class CompanySummaryResponse {
+
+    private Integer companyId;
+
+    private long employeeCount;
+
+    private long totalSalary;
+
+    private Double averageSalary;
+
+    public CompanySummaryResponse() {
+    }
+
+    public Integer getCompanyId() {
+        return companyId;
+    }
+
+    public void setCompanyId(Integer companyId) {
+        this.companyId = companyId;
+    }
+
+    public long getEmployeeCount() {
+        return employeeCount;
+    }
+
+    public void setEmployeeCount(long employeeCount) {
+        this.employeeCount = employeeCount;
+    }
+
+    public long getTotalSalary() {
+        return totalSalary;
+    }
+
+    public void setTotalSalary(long totalSalary) {
+        this.totalSalary = totalSalary;
+    }
+
+    public Double getAverageSalary() {
+        return averageSalary;
+    }
+
+    public void setAverageSalary(Double averageSalary) {
+        this.averageSalary = averageSalary;
+    }
+}
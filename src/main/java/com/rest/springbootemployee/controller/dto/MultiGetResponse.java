@@ -0,0 +1,34 @@
+package com.rest.springbootemployee.controller.dto;
+
+import java.util.List;
+
+public class MultiGetResponse<T> {
+
+    private List<T> content;
+
+    private List<Integer> missingIds;
+
+    public MultiGetResponse() {
+    }
+
+    public MultiGetResponse(List<T> content, List<Integer> missingIds) {
+        this.content = content;
+        this.missingIds = missingIds;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public List<Integer> getMissingIds() {
+        return missingIds;
+    }
+
+    public void setMissingIds(List<Integer> missingIds) {
+        this.missingIds = missingIds;
+    }
+}
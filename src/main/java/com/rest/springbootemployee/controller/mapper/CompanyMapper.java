@@ -1,16 +1,20 @@
 package com.rest.springbootemployee.controller.mapper;
 
 
+import com.rest.springbootemployee.controller.dto.CompanyOverviewResponse;
 import com.rest.springbootemployee.controller.dto.CompanyRequest;
 import com.rest.springbootemployee.controller.dto.CompanyResponse;
+import com.rest.springbootemployee.controller.dto.CompanySummaryResponse;
 import com.rest.springbootemployee.controller.dto.EmployeeResponse;
 import com.rest.springbootemployee.pojo.Company;
-import org.springframework.beans.BeanUtils;
+import com.rest.springbootemployee.pojo.CompanyOverview;
+import com.rest.springbootemployee.pojo.CompanySummary;
+import com.rest.springbootemployee.pojo.Employee;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Component
 public class CompanyMapper {
@@ -20,19 +24,39 @@ public class CompanyMapper {
 
     public CompanyResponse toResponse(Company company){
         CompanyResponse companyResponse = new CompanyResponse();
-        if(company.getEmployeeList() != null){
-            List<EmployeeResponse> employeeResponses = company.getEmployeeList().stream()
-                    .map(employeeMapper::toResponse)
-                    .collect(Collectors.toList());
+        companyResponse.setId(company.getId());
+        companyResponse.setCompanyName(company.getCompanyName());
+        List<Employee> employees = company.getEmployeeList();
+        if(employees != null){
+            List<EmployeeResponse> employeeResponses = new ArrayList<>(employees.size());
+            for (Employee employee : employees) {
+                employeeResponses.add(employeeMapper.toResponse(employee));
+            }
             companyResponse.setEmployeeList(employeeResponses);
         }
-        BeanUtils.copyProperties(company, companyResponse);
         return companyResponse;
     }
 
+    public CompanyOverviewResponse toResponse(CompanyOverview companyOverview){
+        CompanyOverviewResponse companyOverviewResponse = new CompanyOverviewResponse();
+        companyOverviewResponse.setId(companyOverview.getId());
+        companyOverviewResponse.setCompanyName(companyOverview.getCompanyName());
+        companyOverviewResponse.setEmployeeCount(companyOverview.getEmployeeCount());
+        return companyOverviewResponse;
+    }
+
+    public CompanySummaryResponse toResponse(CompanySummary companySummary){
+        CompanySummaryResponse companySummaryResponse = new CompanySummaryResponse();
+        companySummaryResponse.setCompanyId(companySummary.getCompanyId());
+        companySummaryResponse.setEmployeeCount(companySummary.getEmployeeCount());
+        companySummaryResponse.setTotalSalary(companySummary.getTotalSalary());
+        companySummaryResponse.setAverageSalary(companySummary.getAverageSalary());
+        return companySummaryResponse;
+    }
+
     public Company toEntity(CompanyRequest companyRequest){
         Company company = new Company();
-        BeanUtils.copyProperties(companyRequest, company);
+        company.setCompanyName(companyRequest.getCompanyName());
         return company;
     }
 }
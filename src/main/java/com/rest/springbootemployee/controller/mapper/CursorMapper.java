@@ -0,0 +1,61 @@
+package com.rest.springbootemployee.controller.mapper;
+
+import com.rest.springbootemployee.controller.dto.CursorPageResponse;
+import com.rest.springbootemployee.execption.InvalidCursorException;
+import com.rest.springbootemployee.execption.InvalidLimitException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+public class CursorMapper {
+
+    private static final int FIRST_PAGE_ID = 0;
+
+    @Value("${cursor.max-limit:1000}")
+    private int maxLimit;
+
+    public String toCursor(Integer lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public int toLastId(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return FIRST_PAGE_ID;
+        }
+        try {
+            return Integer.parseInt(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    public int toLimit(int limit) {
+        if (limit < 1 || limit > maxLimit) {
+            throw new InvalidLimitException();
+        }
+        return limit;
+    }
+
+    // reads one row more than the limit to learn whether another page follows
+    public <T, R> CursorPageResponse<R> toPage(String after, int limit, BiFunction<Integer, Integer, List<T>> findAfter,
+                                               Function<T, Integer> idOf, Function<T, R> toResponse) {
+        List<T> rows = findAfter.apply(toLastId(after), toLimit(limit) + 1);
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            nextCursor = toCursor(idOf.apply(rows.get(limit - 1)));
+        }
+        List<R> content = rows.stream()
+                .map(toResponse)
+                .collect(Collectors.toList());
+        return new CursorPageResponse<>(content, nextCursor);
+    }
+}
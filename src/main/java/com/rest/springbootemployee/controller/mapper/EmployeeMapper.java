@@ -3,7 +3,8 @@ package com.rest.springbootemployee.controller.mapper;
 import com.rest.springbootemployee.controller.dto.EmployeeRequest;
 import com.rest.springbootemployee.controller.dto.EmployeeResponse;
 import com.rest.springbootemployee.pojo.Employee;
-import org.springframework.beans.BeanUtils;
+import com.rest.springbootemployee.pojo.EmployeeSummary;
+import com.rest.springbootemployee.pojo.Gender;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -11,13 +12,33 @@ public class EmployeeMapper {
 
     public EmployeeResponse toResponse(Employee employee) {
         EmployeeResponse employeeResponse = new EmployeeResponse();
-        BeanUtils.copyProperties(employee, employeeResponse);
+        employeeResponse.setId(employee.getId());
+        employeeResponse.setName(employee.getName());
+        employeeResponse.setAge(employee.getAge());
+        employeeResponse.setGender(toValue(employee.getGender()));
+        return employeeResponse;
+    }
+
+    public EmployeeResponse toResponse(EmployeeSummary employeeSummary) {
+        EmployeeResponse employeeResponse = new EmployeeResponse();
+        employeeResponse.setId(employeeSummary.getId());
+        employeeResponse.setName(employeeSummary.getName());
+        employeeResponse.setAge(employeeSummary.getAge());
+        employeeResponse.setGender(toValue(employeeSummary.getGender()));
         return employeeResponse;
     }
 
     public Employee toEntity(EmployeeRequest employeeRequest) {
         Employee employee = new Employee();
-        BeanUtils.copyProperties(employeeRequest, employee);
+        employee.setName(employeeRequest.getName());
+        employee.setAge(employeeRequest.getAge());
+        employee.setGender(Gender.fromValue(employeeRequest.getGender()));
+        employee.setSalary(employeeRequest.getSalary());
+        employee.setCompanyId(employeeRequest.getCompanyId());
         return employee;
     }
+
+    private static String toValue(Gender gender) {
+        return gender == null ? null : gender.getValue();
+    }
 }
@@ -0,0 +1,49 @@
+package com.rest.springbootemployee.controller.mapper;
+
+import com.rest.springbootemployee.execption.VersionMismatchException;
+import com.rest.springbootemployee.pojo.CompanyVersion;
+import org.springframework.stereotype.Component;
+
+@Component
+public class EntityTagMapper {
+
+    private static final String ANY = "*";
+
+    public String toEntityTag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    public String toEntityTag(CompanyVersion companyVersion) {
+        return "\"" + companyVersion.getVersion() + "-" + companyVersion.getEmployeeDigest() + "\"";
+    }
+
+    public boolean isAny(String ifMatch) {
+        return ifMatch == null || ANY.equals(ifMatch.trim());
+    }
+
+    // If-Match uses strong comparison, so weak or unparseable tags never match
+    public Long toVersion(String ifMatch) {
+        if (isAny(ifMatch)) {
+            return null;
+        }
+        String entityTag = ifMatch.trim();
+        if (entityTag.length() < 2 || !entityTag.startsWith("\"") || !entityTag.endsWith("\"")) {
+            throw new VersionMismatchException();
+        }
+        try {
+            return Long.parseLong(entityTag.substring(1, entityTag.length() - 1));
+        } catch (NumberFormatException exception) {
+            throw new VersionMismatchException();
+        }
+    }
+
+    public Long toVersion(String ifMatch, CompanyVersion currentVersion) {
+        if (isAny(ifMatch)) {
+            return null;
+        }
+        if (!toEntityTag(currentVersion).equals(ifMatch.trim())) {
+            throw new VersionMismatchException();
+        }
+        return currentVersion.getVersion();
+    }
+}
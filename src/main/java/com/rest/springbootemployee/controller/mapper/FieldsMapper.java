@@ -0,0 +1,21 @@
+package com.rest.springbootemployee.controller.mapper;
+
+import com.rest.springbootemployee.execption.InvalidFieldsException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+
+// parameters that select another representation are rejected rather than silently dropped
+@Component
+public class FieldsMapper {
+
+    public List<String> toFields(List<String> fields, WebRequest request, String... unsupportedParameters) {
+        for (String parameter : unsupportedParameters) {
+            if (request.getParameter(parameter) != null) {
+                throw new InvalidFieldsException();
+            }
+        }
+        return fields;
+    }
+}
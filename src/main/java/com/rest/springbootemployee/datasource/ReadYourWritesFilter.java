@@ -0,0 +1,58 @@
+package com.rest.springbootemployee.datasource;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String PRIMARY_UNTIL_COOKIE = "primary-until";
+
+    private final long readYourWritesMillis;
+
+    public ReadYourWritesFilter(Duration readYourWritesWindow) {
+        this.readYourWritesMillis = readYourWritesWindow.toMillis();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ReplicaRouting.start(getPrimaryUntil(request), primaryUntil -> {
+            Cookie cookie = new Cookie(PRIMARY_UNTIL_COOKIE, Long.toString(primaryUntil));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, Math.ceil((primaryUntil - System.currentTimeMillis()) / 1000.0)));
+            response.addCookie(cookie);
+        });
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRouting.finish();
+        }
+    }
+
+    // capped at one window from now, so a forged cookie cannot pin a client to the primary
+    private long getPrimaryUntil(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (PRIMARY_UNTIL_COOKIE.equals(cookie.getName())) {
+                try {
+                    long primaryUntil = Long.parseLong(cookie.getValue());
+                    return primaryUntil <= System.currentTimeMillis() + readYourWritesMillis ? primaryUntil : 0;
+                } catch (NumberFormatException exception) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,72 @@
+package com.rest.springbootemployee.datasource;
+
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import javax.persistence.CacheRetrieveMode;
+import javax.persistence.CacheStoreMode;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import java.sql.SQLException;
+
+// the cache outlives replication lag: replica reads never store in it, and reads of own writes skip it
+public class ReplicaAwareJpaDialect extends HibernateJpaDialect {
+
+    private static final String RETRIEVE_MODE = "javax.persistence.cache.retrieveMode";
+
+    private static final String STORE_MODE = "javax.persistence.cache.storeMode";
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        if (!definition.isReadOnly()) {
+            return transactionData;
+        }
+        long now = System.currentTimeMillis();
+        if (ReplicaRouting.readsOwnWrites(now)) {
+            return new CacheModeReset(entityManager, transactionData, CacheRetrieveMode.BYPASS, CacheStoreMode.REFRESH);
+        }
+        if (!ReplicaRouting.requiresPrimary(now)) {
+            return new CacheModeReset(entityManager, transactionData, CacheRetrieveMode.USE, CacheStoreMode.BYPASS);
+        }
+        return transactionData;
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof CacheModeReset) {
+            CacheModeReset cacheModeReset = (CacheModeReset) transactionData;
+            // an open-in-view entity manager outlives the transaction and may run a read-write one next
+            cacheModeReset.reset();
+            transactionData = cacheModeReset.transactionData;
+        }
+        super.cleanupTransaction(transactionData);
+    }
+
+    private static class CacheModeReset {
+
+        private final EntityManager entityManager;
+
+        private final Object transactionData;
+
+        private final Object previousRetrieveMode;
+
+        private final Object previousStoreMode;
+
+        private CacheModeReset(EntityManager entityManager, Object transactionData,
+                               CacheRetrieveMode retrieveMode, CacheStoreMode storeMode) {
+            this.entityManager = entityManager;
+            this.transactionData = transactionData;
+            this.previousRetrieveMode = entityManager.getProperties().getOrDefault(RETRIEVE_MODE, CacheRetrieveMode.USE);
+            this.previousStoreMode = entityManager.getProperties().getOrDefault(STORE_MODE, CacheStoreMode.USE);
+            entityManager.setProperty(RETRIEVE_MODE, retrieveMode);
+            entityManager.setProperty(STORE_MODE, storeMode);
+        }
+
+        private void reset() {
+            entityManager.setProperty(RETRIEVE_MODE, previousRetrieveMode);
+            entityManager.setProperty(STORE_MODE, previousStoreMode);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.rest.springbootemployee.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// the stamp is refreshed once per heartbeat interval, so the tolerance must exceed that interval
+public class ReplicaLagMonitor implements MeterBinder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate primary;
+
+    private final JdbcTemplate replica;
+
+    private final long maxLagMillis;
+
+    private volatile boolean replicaUsable;
+
+    private volatile long lagMillis = -1;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, Duration maxLag) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxLagMillis = maxLag.toMillis();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        Gauge.builder("replica.lag", this, ReplicaLagMonitor::getLagMillis)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${replica.heartbeat-interval:PT1S}")
+    public void heartbeat() {
+        measureLag();
+        try {
+            primary.update("update replica_heartbeat set beat_at = ? where id = 1", System.currentTimeMillis());
+        } catch (DataAccessException exception) {
+            LOGGER.warn("Could not write the replica heartbeat", exception);
+        }
+    }
+
+    public void measureLag() {
+        boolean wasUsable = replicaUsable;
+        try {
+            Long beatAt = replica.queryForObject("select beat_at from replica_heartbeat where id = 1", Long.class);
+            lagMillis = beatAt == null ? -1 : Math.max(0, System.currentTimeMillis() - beatAt);
+            replicaUsable = beatAt != null && lagMillis <= maxLagMillis;
+        } catch (DataAccessException exception) {
+            lagMillis = -1;
+            replicaUsable = false;
+        }
+        if (wasUsable != replicaUsable) {
+            LOGGER.info("Replica {} for reads, lag {} ms", replicaUsable ? "enabled" : "disabled", lagMillis);
+        }
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+}
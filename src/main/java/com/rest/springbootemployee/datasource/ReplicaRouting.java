@@ -0,0 +1,66 @@
+package com.rest.springbootemployee.datasource;
+
+import java.util.function.LongConsumer;
+
+public class ReplicaRouting {
+
+    private static final ThreadLocal<ReplicaRouting> CURRENT = new ThreadLocal<>();
+
+    private final LongConsumer writeListener;
+
+    private long primaryUntil;
+
+    private int primaryPins;
+
+    private ReplicaRouting(long primaryUntil, LongConsumer writeListener) {
+        this.primaryUntil = primaryUntil;
+        this.writeListener = writeListener;
+    }
+
+    public static void start(long primaryUntil, LongConsumer writeListener) {
+        CURRENT.set(new ReplicaRouting(primaryUntil, writeListener));
+    }
+
+    public static void finish() {
+        CURRENT.remove();
+    }
+
+    public static void onPrimary(Runnable action) {
+        ReplicaRouting replicaRouting = CURRENT.get();
+        boolean started = replicaRouting == null;
+        if (started) {
+            replicaRouting = new ReplicaRouting(0, null);
+            CURRENT.set(replicaRouting);
+        }
+        replicaRouting.primaryPins++;
+        try {
+            action.run();
+        } finally {
+            replicaRouting.primaryPins--;
+            if (started) {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    static boolean requiresPrimary(long now) {
+        ReplicaRouting replicaRouting = CURRENT.get();
+        return replicaRouting != null && (replicaRouting.primaryPins > 0 || now < replicaRouting.primaryUntil);
+    }
+
+    static boolean readsOwnWrites(long now) {
+        ReplicaRouting replicaRouting = CURRENT.get();
+        return replicaRouting != null && now < replicaRouting.primaryUntil;
+    }
+
+    static void written(long primaryUntil) {
+        ReplicaRouting replicaRouting = CURRENT.get();
+        if (replicaRouting == null) {
+            return;
+        }
+        replicaRouting.primaryUntil = Math.max(replicaRouting.primaryUntil, primaryUntil);
+        if (replicaRouting.writeListener != null) {
+            replicaRouting.writeListener.accept(replicaRouting.primaryUntil);
+        }
+    }
+}
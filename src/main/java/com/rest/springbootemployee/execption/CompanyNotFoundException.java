@@ -4,6 +4,6 @@ package com.rest.springbootemployee.execption;
 public class CompanyNotFoundException extends RuntimeException{
 
     public CompanyNotFoundException() {
-        super("CompanyNotFoundException");
+        super("CompanyNotFoundException", null, false, false);
     }
 }
@@ -2,7 +2,7 @@ package com.rest.springbootemployee.execption;
 
 public class EmployeeNotFoundException extends RuntimeException{
     public EmployeeNotFoundException(){
-        super("EmployeeNotFoundException");
+        super("EmployeeNotFoundException", null, false, false);
     }
 
 }
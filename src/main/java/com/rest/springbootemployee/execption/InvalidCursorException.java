@@ -0,0 +1,8 @@
+package com.rest.springbootemployee.execption;
+
+public class InvalidCursorException extends RuntimeException{
+    public InvalidCursorException(){
+        super("InvalidCursorException");
+    }
+
+}
@@ -0,0 +1,8 @@
+package com.rest.springbootemployee.execption;
+
+public class InvalidFieldsException extends RuntimeException{
+    public InvalidFieldsException(){
+        super("InvalidFieldsException");
+    }
+
+}
@@ -0,0 +1,8 @@
+package com.rest.springbootemployee.execption;
+
+public class InvalidGenderException extends RuntimeException{
+    public InvalidGenderException(){
+        super("InvalidGenderException");
+    }
+
+}
@@ -0,0 +1,8 @@
+package com.rest.springbootemployee.execption;
+
+public class InvalidGroupingException extends RuntimeException{
+    public InvalidGroupingException(){
+        super("InvalidGroupingException");
+    }
+
+}
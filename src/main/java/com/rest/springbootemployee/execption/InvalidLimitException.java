@@ -0,0 +1,8 @@
+package com.rest.springbootemployee.execption;
+
+public class InvalidLimitException extends RuntimeException{
+    public InvalidLimitException(){
+        super("InvalidLimitException");
+    }
+
+}
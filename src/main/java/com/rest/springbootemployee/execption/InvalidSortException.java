@@ -0,0 +1,8 @@
+package com.rest.springbootemployee.execption;
+
+public class InvalidSortException extends RuntimeException{
+    public InvalidSortException(){
+        super("InvalidSortException");
+    }
+
+}
@@ -0,0 +1,8 @@
+package com.rest.springbootemployee.execption;
+
+public class TooManyIdsException extends RuntimeException{
+    public TooManyIdsException(){
+        super("TooManyIdsException");
+    }
+
+}
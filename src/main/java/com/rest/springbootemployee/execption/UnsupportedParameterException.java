@@ -0,0 +1,8 @@
+package com.rest.springbootemployee.execption;
+
+public class UnsupportedParameterException extends RuntimeException{
+    public UnsupportedParameterException(){
+        super("UnsupportedParameterException");
+    }
+
+}
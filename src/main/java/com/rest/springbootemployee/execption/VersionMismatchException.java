@@ -0,0 +1,8 @@
+package com.rest.springbootemployee.execption;
+
+public class VersionMismatchException extends RuntimeException{
+    public VersionMismatchException(){
+        super("VersionMismatchException");
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.rest.springbootemployee.lookup;
+
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.persister.entity.EntityPersister;
+
+// runs after commit so a rebuild can never miss an insert or delete
+public class ExistenceFilterListener implements PostCommitInsertEventListener, PostCommitDeleteEventListener {
+
+    private final ExistenceFilters existenceFilters;
+
+    public ExistenceFilterListener(ExistenceFilters existenceFilters) {
+        this.existenceFilters = existenceFilters;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        IdBitmap ids = existenceFilters.forEntity(event.getEntity().getClass());
+        if (ids != null) {
+            ids.add((Integer) event.getId());
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        IdBitmap ids = existenceFilters.forEntity(event.getEntity().getClass());
+        if (ids != null) {
+            ids.remove((Integer) event.getId());
+        }
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return existenceFilters.forEntity(persister.getMappedClass()) != null;
+    }
+
+    // still abstract in Hibernate 5.6
+    @Override
+    @Deprecated
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return requiresPostCommitHandling(persister);
+    }
+}
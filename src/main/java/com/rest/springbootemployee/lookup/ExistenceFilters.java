@@ -0,0 +1,102 @@
+package com.rest.springbootemployee.lookup;
+
+import com.rest.springbootemployee.datasource.ReplicaRouting;
+import com.rest.springbootemployee.pojo.Company;
+import com.rest.springbootemployee.pojo.Employee;
+import com.rest.springbootemployee.repository.CompanyJpaRepository;
+import com.rest.springbootemployee.repository.EmployeeJpaRepository;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import java.util.stream.Stream;
+
+// a cleared bit only means absent when this process is the single writer
+@Component
+public class ExistenceFilters {
+
+    private final IdBitmap employeeIds = new IdBitmap();
+
+    private final IdBitmap companyIds = new IdBitmap();
+
+    @Value("${lookup.existence-filter.single-writer:false}")
+    private boolean singleWriter;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EmployeeJpaRepository employeeJpaRepository;
+
+    @Autowired
+    private CompanyJpaRepository companyJpaRepository;
+
+    @PostConstruct
+    public void registerListener() {
+        if (!singleWriter) {
+            return;
+        }
+        ExistenceFilterListener listener = new ExistenceFilterListener(this);
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImpl.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+    }
+
+    public boolean mightContainEmployee(int id) {
+        return !singleWriter || employeeIds.mightContain(id);
+    }
+
+    public boolean mightContainCompany(int id) {
+        return !singleWriter || companyIds.mightContain(id);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${lookup.existence-filter.rebuild-interval:PT10M}",
+            initialDelayString = "${lookup.existence-filter.rebuild-interval:PT10M}")
+    public void rebuild() {
+        if (!singleWriter) {
+            return;
+        }
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        // a lagging replica would miss recent inserts, and a cleared bit turns their lookups into 404s
+        ReplicaRouting.onPrimary(() -> {
+            // each bitmap captures writes before its own transaction takes its snapshot, so none falls in between
+            employeeIds.rebuild(ids -> readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Integer> employeeIdStream = employeeJpaRepository.streamIds()) {
+                    employeeIdStream.forEach(ids::accept);
+                }
+            }));
+            companyIds.rebuild(ids -> readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Integer> companyIdStream = companyJpaRepository.streamIds()) {
+                    companyIdStream.forEach(ids::accept);
+                }
+            }));
+        });
+    }
+
+    IdBitmap forEntity(Class<?> entityClass) {
+        if (Employee.class.equals(entityClass)) {
+            return employeeIds;
+        }
+        if (Company.class.equals(entityClass)) {
+            return companyIds;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,101 @@
+package com.rest.springbootemployee.lookup;
+
+import java.util.BitSet;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+// reads are lock-free; until the first rebuild every id is reported as possibly present
+public class IdBitmap {
+
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+
+    private volatile AtomicLongArray words = new AtomicLongArray(0);
+
+    private volatile boolean loaded;
+
+    private BitSet addedDuringRebuild;
+
+    private BitSet removedDuringRebuild;
+
+    private final Object rebuildLock = new Object();
+
+    public boolean mightContain(int id) {
+        if (!loaded) {
+            return true;
+        }
+        if (id < 0) {
+            return false;
+        }
+        AtomicLongArray current = words;
+        int index = id >>> ADDRESS_BITS_PER_WORD;
+        return index < current.length() && (current.get(index) & (1L << id)) != 0;
+    }
+
+    public synchronized void add(int id) {
+        if (id < 0) {
+            return;
+        }
+        int index = id >>> ADDRESS_BITS_PER_WORD;
+        if (index >= words.length()) {
+            words = copyOf(words, Math.max(index + 1, words.length() * 2));
+        }
+        words.set(index, words.get(index) | (1L << id));
+        if (addedDuringRebuild != null) {
+            addedDuringRebuild.set(id);
+        }
+    }
+
+    public synchronized void remove(int id) {
+        if (id < 0) {
+            return;
+        }
+        int index = id >>> ADDRESS_BITS_PER_WORD;
+        if (index < words.length()) {
+            words.set(index, words.get(index) & ~(1L << id));
+        }
+        if (removedDuringRebuild != null) {
+            removedDuringRebuild.set(id);
+        }
+    }
+
+    public void rebuild(PrimitiveIterator.OfInt ids) {
+        rebuild(rebuilt -> ids.forEachRemaining(rebuilt));
+    }
+
+    // adds and removes made while rebuilding are replayed on top, so a concurrent write is never lost
+    public void rebuild(Consumer<IntConsumer> reader) {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                addedDuringRebuild = new BitSet();
+                removedDuringRebuild = new BitSet();
+            }
+            BitSet rebuilt = new BitSet();
+            boolean completed = false;
+            try {
+                reader.accept(rebuilt::set);
+                completed = true;
+            } finally {
+                synchronized (this) {
+                    if (completed) {
+                        rebuilt.or(addedDuringRebuild);
+                        rebuilt.andNot(removedDuringRebuild);
+                        words = new AtomicLongArray(rebuilt.toLongArray());
+                        loaded = true;
+                    }
+                    addedDuringRebuild = null;
+                    removedDuringRebuild = null;
+                }
+            }
+        }
+    }
+
+    private static AtomicLongArray copyOf(AtomicLongArray words, int length) {
+        AtomicLongArray copy = new AtomicLongArray(length);
+        for (int index = 0; index < words.length(); index++) {
+            copy.set(index, words.get(index));
+        }
+        return copy;
+    }
+}
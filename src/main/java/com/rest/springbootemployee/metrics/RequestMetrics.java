@@ -0,0 +1,42 @@
+package com.rest.springbootemployee.metrics;
+
+public class RequestMetrics {
+
+    private static final ThreadLocal<RequestMetrics> CURRENT = new ThreadLocal<>();
+
+    private long sqlStatements;
+
+    private long rowsRead;
+
+    public static RequestMetrics start() {
+        RequestMetrics requestMetrics = new RequestMetrics();
+        CURRENT.set(requestMetrics);
+        return requestMetrics;
+    }
+
+    public static void finish() {
+        CURRENT.remove();
+    }
+
+    static void incrementSqlStatements() {
+        RequestMetrics requestMetrics = CURRENT.get();
+        if (requestMetrics != null) {
+            requestMetrics.sqlStatements++;
+        }
+    }
+
+    static void incrementRowsRead() {
+        RequestMetrics requestMetrics = CURRENT.get();
+        if (requestMetrics != null) {
+            requestMetrics.rowsRead++;
+        }
+    }
+
+    public long getSqlStatements() {
+        return sqlStatements;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+}
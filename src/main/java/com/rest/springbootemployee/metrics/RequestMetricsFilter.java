@@ -0,0 +1,55 @@
+package com.rest.springbootemployee.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+@Component
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    public static final String SQL_STATEMENTS = "http.server.sql.statements";
+
+    public static final String ROWS_READ = "http.server.rows.read";
+
+    public static final String RESPONSE_BYTES = "http.server.response.bytes";
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestMetrics requestMetrics = RequestMetrics.start();
+        CountingResponseWrapper countingResponse = new CountingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, countingResponse);
+            countingResponse.flushWriter();
+        } finally {
+            RequestMetrics.finish();
+            Tags tags = Tags.of("method", request.getMethod(), "uri", getUri(request));
+            DistributionSummary.builder(SQL_STATEMENTS).tags(tags).register(meterRegistry)
+                    .record(requestMetrics.getSqlStatements());
+            DistributionSummary.builder(ROWS_READ).tags(tags).register(meterRegistry)
+                    .record(requestMetrics.getRowsRead());
+            DistributionSummary.builder(RESPONSE_BYTES).baseUnit("bytes").tags(tags).register(meterRegistry)
+                    .record(countingResponse.getByteCount());
+        }
+    }
+
+    private String getUri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? UNKNOWN_URI : pattern.toString();
+    }
+}
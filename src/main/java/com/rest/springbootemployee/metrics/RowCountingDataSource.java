@@ -0,0 +1,68 @@
+package com.rest.springbootemployee.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+
+public class RowCountingDataSource extends DelegatingDataSource {
+
+    private static final List<Class<?>> WRAPPED_TYPES = Arrays.asList(
+            Statement.class, PreparedStatement.class, CallableStatement.class, ResultSet.class);
+
+    public RowCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return (Connection) wrap(Connection.class, super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return (Connection) wrap(Connection.class, super.getConnection(username, password));
+    }
+
+    private static Object wrap(Class<?> type, Object target) {
+        return Proxy.newProxyInstance(RowCountingDataSource.class.getClassLoader(), new Class<?>[]{type},
+                new RowCountingHandler(target));
+    }
+
+    private static class RowCountingHandler implements InvocationHandler {
+
+        private final Object target;
+
+        RowCountingHandler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException exception) {
+                throw exception.getTargetException();
+            }
+            if (target instanceof ResultSet && method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                RequestMetrics.incrementRowsRead();
+            }
+            if (result != null && WRAPPED_TYPES.contains(method.getReturnType())) {
+                return wrap(method.getReturnType(), result);
+            }
+            return result;
+        }
+    }
+}
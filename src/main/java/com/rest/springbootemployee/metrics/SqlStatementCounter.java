@@ -0,0 +1,12 @@
+package com.rest.springbootemployee.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class SqlStatementCounter implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestMetrics.incrementSqlStatements();
+        return sql;
+    }
+}
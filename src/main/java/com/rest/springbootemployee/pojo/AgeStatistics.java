@@ -0,0 +1,47 @@
+package com.rest.springbootemployee.pojo;
+
+public class AgeStatistics {
+
+    private final Integer companyId;
+
+    private final Gender gender;
+
+    private final Integer age;
+
+    private final Long headcount;
+
+    public AgeStatistics(Integer age, Long headcount) {
+        this(null, null, age, headcount);
+    }
+
+    public AgeStatistics(Integer companyId, Integer age, Long headcount) {
+        this(companyId, null, age, headcount);
+    }
+
+    public AgeStatistics(Gender gender, Integer age, Long headcount) {
+        this(null, gender, age, headcount);
+    }
+
+    public AgeStatistics(Integer companyId, Gender gender, Integer age, Long headcount) {
+        this.companyId = companyId;
+        this.gender = gender;
+        this.age = age;
+        this.headcount = headcount;
+    }
+
+    public Integer getCompanyId() {
+        return companyId;
+    }
+
+    public Gender getGender() {
+        return gender;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public Long getHeadcount() {
+        return headcount;
+    }
+}
@@ -1,9 +1,16 @@
 package com.rest.springbootemployee.pojo;
 
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+
 import javax.persistence.*;
 import java.util.List;
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
 public class Company {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -12,8 +19,12 @@ public class Company {
     private String companyName;
     @OneToMany
     @JoinColumn(name = "companyId")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<Employee> employeeList;
 
+    @Version
+    private long version;
+
     public Company() {
     }
 
@@ -46,4 +57,12 @@ public class Company {
     public void setEmployeeList(List<Employee> employeeList) {
         this.employeeList = employeeList;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,29 @@
+package com.rest.springbootemployee.pojo;
+
+// the employee columns are null for a company without employees
+public class CompanyMemberVersion {
+
+    private final long companyVersion;
+
+    private final Integer employeeId;
+
+    private final Long employeeVersion;
+
+    public CompanyMemberVersion(Long companyVersion, Integer employeeId, Long employeeVersion) {
+        this.companyVersion = companyVersion;
+        this.employeeId = employeeId;
+        this.employeeVersion = employeeVersion;
+    }
+
+    public long getCompanyVersion() {
+        return companyVersion;
+    }
+
+    public Integer getEmployeeId() {
+        return employeeId;
+    }
+
+    public Long getEmployeeVersion() {
+        return employeeVersion;
+    }
+}
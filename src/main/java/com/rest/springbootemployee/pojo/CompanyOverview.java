@@ -0,0 +1,28 @@
+package com.rest.springbootemployee.pojo;
+
+public class CompanyOverview {
+
+    private final Integer id;
+
+    private final String companyName;
+
+    private final Long employeeCount;
+
+    public CompanyOverview(Integer id, String companyName, Long employeeCount) {
+        this.id = id;
+        this.companyName = companyName;
+        this.employeeCount = employeeCount;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getCompanyName() {
+        return companyName;
+    }
+
+    public Long getEmployeeCount() {
+        return employeeCount;
+    }
+}
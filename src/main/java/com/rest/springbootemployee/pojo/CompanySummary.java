@@ -0,0 +1,51 @@
+package com.rest.springbootemployee.pojo;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+@Entity
+public class CompanySummary {
+    @Id
+    private Integer companyId;
+
+    private long employeeCount;
+
+    private long totalSalary;
+
+    public CompanySummary() {
+    }
+
+    public CompanySummary(Integer companyId, long employeeCount, long totalSalary) {
+        this.companyId = companyId;
+        this.employeeCount = employeeCount;
+        this.totalSalary = totalSalary;
+    }
+
+    public Integer getCompanyId() {
+        return companyId;
+    }
+
+    public void setCompanyId(Integer companyId) {
+        this.companyId = companyId;
+    }
+
+    public long getEmployeeCount() {
+        return employeeCount;
+    }
+
+    public void setEmployeeCount(long employeeCount) {
+        this.employeeCount = employeeCount;
+    }
+
+    public long getTotalSalary() {
+        return totalSalary;
+    }
+
+    public void setTotalSalary(long totalSalary) {
+        this.totalSalary = totalSalary;
+    }
+
+    public Double getAverageSalary() {
+        return employeeCount == 0 ? null : (double) totalSalary / employeeCount;
+    }
+}
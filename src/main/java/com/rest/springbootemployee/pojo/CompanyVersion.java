@@ -0,0 +1,72 @@
+package com.rest.springbootemployee.pojo;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+// a digest, because counts and sums miss replacing employees 1 and 4 with 2 and 3 at the same versions
+public class CompanyVersion {
+
+    private static final int DIGEST_BYTES = 12;
+
+    private final long version;
+
+    private final String employeeDigest;
+
+    public CompanyVersion(long version, String employeeDigest) {
+        this.version = version;
+        this.employeeDigest = employeeDigest;
+    }
+
+    public static CompanyVersion of(Company company) {
+        List<Employee> employees = company.getEmployeeList() == null ? new ArrayList<>()
+                : new ArrayList<>(company.getEmployeeList());
+        employees.sort(Comparator.comparing(Employee::getId));
+        MessageDigest digest = newDigest();
+        for (Employee employee : employees) {
+            update(digest, employee.getId(), employee.getVersion());
+        }
+        return new CompanyVersion(company.getVersion(), encode(digest));
+    }
+
+    // members must be ordered by employee id, as of(Company) sorts them
+    public static CompanyVersion of(List<CompanyMemberVersion> members) {
+        MessageDigest digest = newDigest();
+        for (CompanyMemberVersion member : members) {
+            if (member.getEmployeeId() != null) {
+                update(digest, member.getEmployeeId(), member.getEmployeeVersion());
+            }
+        }
+        return new CompanyVersion(members.get(0).getCompanyVersion(), encode(digest));
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public String getEmployeeDigest() {
+        return employeeDigest;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static void update(MessageDigest digest, int employeeId, long employeeVersion) {
+        digest.update(ByteBuffer.allocate(Integer.BYTES + Long.BYTES).putInt(employeeId).putLong(employeeVersion).array());
+    }
+
+    private static String encode(MessageDigest digest) {
+        byte[] bytes = new byte[DIGEST_BYTES];
+        System.arraycopy(digest.digest(), 0, bytes, 0, DIGEST_BYTES);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
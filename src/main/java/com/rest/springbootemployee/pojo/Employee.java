@@ -1,30 +1,49 @@
 package com.rest.springbootemployee.pojo;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+
+import javax.persistence.Cacheable;
+import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Version;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
 public class Employee{
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+    @SequenceGenerator(name = "employee_seq", sequenceName = "employee_seq", allocationSize = 50)
     private Integer id;
 
     private String name;
 
     private Integer age;
 
-    private String gender;
+    @Enumerated(EnumType.ORDINAL)
+    @Column(columnDefinition = "tinyint")
+    private Gender gender;
 
     private Integer salary;
 
     private Integer companyId;
 
+    @Version
+    private long version;
+
     public Employee() {
     }
 
-    public Employee(Integer id, String name, Integer age, String gender, Integer salary) {
+    public Employee(Integer id, String name, Integer age, Gender gender, Integer salary) {
         this.id = id;
         this.name = name;
         this.age = age;
@@ -32,7 +51,7 @@ public class Employee{
         this.salary = salary;
     }
 
-    public Employee(Integer id, String name, Integer age, String gender, Integer salary, Integer companyId) {
+    public Employee(Integer id, String name, Integer age, Gender gender, Integer salary, Integer companyId) {
         this.id = id;
         this.name = name;
         this.age = age;
@@ -65,11 +84,11 @@ public class Employee{
         this.age = age;
     }
 
-    public String getGender() {
+    public Gender getGender() {
         return gender;
     }
 
-    public void setGender(String gender) {
+    public void setGender(Gender gender) {
         this.gender = gender;
     }
 
@@ -88,5 +107,12 @@ public class Employee{
     public void setCompanyId(Integer companyId) {
         this.companyId = companyId;
     }
-}
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+}
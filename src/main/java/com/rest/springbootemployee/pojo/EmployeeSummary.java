@@ -0,0 +1,35 @@
+package com.rest.springbootemployee.pojo;
+
+public class EmployeeSummary {
+
+    private final Integer id;
+
+    private final String name;
+
+    private final Integer age;
+
+    private final Gender gender;
+
+    public EmployeeSummary(Integer id, String name, Integer age, Gender gender) {
+        this.id = id;
+        this.name = name;
+        this.age = age;
+        this.gender = gender;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public Gender getGender() {
+        return gender;
+    }
+}
@@ -0,0 +1,36 @@
+package com.rest.springbootemployee.pojo;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.rest.springbootemployee.execption.InvalidGenderException;
+
+import java.util.Locale;
+
+// persisted by ordinal: append new values and never reorder; this order keeps "order by gender" alphabetical
+public enum Gender {
+    FEMALE("female"),
+    MALE("male");
+
+    private final String value;
+
+    Gender(String value) {
+        this.value = value;
+    }
+
+    @JsonValue
+    public String getValue() {
+        return value;
+    }
+
+    public static Gender fromValue(String value) {
+        if (value == null) {
+            return null;
+        }
+        String normalizedValue = value.trim().toLowerCase(Locale.ROOT);
+        for (Gender gender : values()) {
+            if (gender.value.equals(normalizedValue)) {
+                return gender;
+            }
+        }
+        throw new InvalidGenderException();
+    }
+}
@@ -0,0 +1,71 @@
+package com.rest.springbootemployee.pojo;
+
+public class SalaryStatistics {
+
+    private final Integer companyId;
+
+    private final Gender gender;
+
+    private final Long headcount;
+
+    private final Integer minSalary;
+
+    private final Integer maxSalary;
+
+    private final Double averageSalary;
+
+    private final Long totalSalary;
+
+    public SalaryStatistics(Long headcount, Integer minSalary, Integer maxSalary, Double averageSalary, Long totalSalary) {
+        this(null, null, headcount, minSalary, maxSalary, averageSalary, totalSalary);
+    }
+
+    public SalaryStatistics(Integer companyId, Long headcount, Integer minSalary, Integer maxSalary,
+                            Double averageSalary, Long totalSalary) {
+        this(companyId, null, headcount, minSalary, maxSalary, averageSalary, totalSalary);
+    }
+
+    public SalaryStatistics(Gender gender, Long headcount, Integer minSalary, Integer maxSalary,
+                            Double averageSalary, Long totalSalary) {
+        this(null, gender, headcount, minSalary, maxSalary, averageSalary, totalSalary);
+    }
+
+    public SalaryStatistics(Integer companyId, Gender gender, Long headcount, Integer minSalary, Integer maxSalary,
+                            Double averageSalary, Long totalSalary) {
+        this.companyId = companyId;
+        this.gender = gender;
+        this.headcount = headcount;
+        this.minSalary = minSalary;
+        this.maxSalary = maxSalary;
+        this.averageSalary = averageSalary;
+        this.totalSalary = totalSalary;
+    }
+
+    public Integer getCompanyId() {
+        return companyId;
+    }
+
+    public Gender getGender() {
+        return gender;
+    }
+
+    public Long getHeadcount() {
+        return headcount;
+    }
+
+    public Integer getMinSalary() {
+        return minSalary;
+    }
+
+    public Integer getMaxSalary() {
+        return maxSalary;
+    }
+
+    public Double getAverageSalary() {
+        return averageSalary;
+    }
+
+    public Long getTotalSalary() {
+        return totalSalary;
+    }
+}
@@ -1,9 +1,62 @@
 package com.rest.springbootemployee.repository;
 
 import com.rest.springbootemployee.pojo.Company;
+import com.rest.springbootemployee.pojo.CompanyMemberVersion;
+import com.rest.springbootemployee.pojo.CompanyOverview;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.annotations.QueryHints.FETCH_SIZE;
+
 @Repository
 public interface CompanyJpaRepository extends JpaRepository<Company, Integer> {
+
+    String SELECT_OVERVIEW = "select new com.rest.springbootemployee.pojo.CompanyOverview(c.id, c.companyName, count(e))" +
+            " from Company c left join Employee e on e.companyId = c.id";
+
+    String GROUP_OVERVIEW = " group by c.id, c.companyName order by c.id";
+
+    @EntityGraph(attributePaths = "employeeList")
+    @QueryHints(@QueryHint(name = "hibernate.query.passDistinctThrough", value = "false"))
+    @Query("select distinct c from Company c order by c.id")
+    List<Company> findAllWithEmployees();
+
+    @Query(SELECT_OVERVIEW + GROUP_OVERVIEW)
+    List<CompanyOverview> findAllOverviews();
+
+    @Query(value = SELECT_OVERVIEW + " where c.id in :ids" + GROUP_OVERVIEW)
+    List<CompanyOverview> findOverviewsByIdIn(@Param("ids") List<Integer> ids);
+
+    @Query("select c.id from Company c order by c.id")
+    List<Integer> findIds(Pageable pageable);
+
+    @Query("select c.id from Company c where c.id > :id order by c.id")
+    List<Integer> findIdsAfter(@Param("id") Integer id, Pageable pageable);
+
+    @EntityGraph(attributePaths = "employeeList")
+    @QueryHints(@QueryHint(name = "hibernate.query.passDistinctThrough", value = "false"))
+    @Query("select distinct c from Company c where c.id in :ids order by c.id")
+    List<Company> findAllWithEmployeesByIdIn(@Param("ids") List<Integer> ids);
+
+    @QueryHints(@QueryHint(name = FETCH_SIZE, value = "1000"))
+    @Query("select c.id from Company c")
+    Stream<Integer> streamIds();
+
+    @Query("select new com.rest.springbootemployee.pojo.CompanyMemberVersion(c.version, e.id, e.version)" +
+            " from Company c left join Employee e on e.companyId = c.id where c.id = :id order by e.id")
+    List<CompanyMemberVersion> findMemberVersionsById(@Param("id") Integer id);
+
+    @Modifying
+    @Query("delete from Company c where c.id = :id")
+    int deleteCompany(@Param("id") Integer id);
 }
@@ -0,0 +1,60 @@
+package com.rest.springbootemployee.repository;
+
+import com.rest.springbootemployee.pojo.Company;
+import com.rest.springbootemployee.pojo.CompanyOverview;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static com.rest.springbootemployee.repository.EmployeeR2dbcRepository.toInteger;
+import static com.rest.springbootemployee.repository.EmployeeR2dbcRepository.toLong;
+
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class CompanyR2dbcRepository {
+
+    private static final String SELECT_OVERVIEW = "select c.id, c.company_name, count(e.id) as employee_count" +
+            " from company c left join employee e on e.company_id = c.id";
+
+    private static final String GROUP_OVERVIEW = " group by c.id, c.company_name order by c.id";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    public Flux<CompanyOverview> findAllOverviews() {
+        return databaseClient.sql(SELECT_OVERVIEW + GROUP_OVERVIEW)
+                .map(CompanyR2dbcRepository::toOverview)
+                .all();
+    }
+
+    // pages over company ids first, so the limit applies to companies rather than to joined rows
+    public Flux<CompanyOverview> findOverviews(int pageNumber, int pageSize) {
+        return databaseClient.sql(SELECT_OVERVIEW
+                        + " where c.id in (select id from (select id from company order by id limit :limit offset :offset) as page)"
+                        + GROUP_OVERVIEW)
+                .bind("limit", pageSize)
+                .bind("offset", (long) pageNumber * pageSize)
+                .map(CompanyR2dbcRepository::toOverview)
+                .all();
+    }
+
+    public Mono<Company> findById(int id) {
+        return databaseClient.sql("select id, company_name, version from company where id = :id")
+                .bind("id", id)
+                .map(row -> {
+                    Company company = new Company(toInteger(row.get("id")), row.get("company_name", String.class), null);
+                    company.setVersion(toLong(row.get("version")));
+                    return company;
+                })
+                .one();
+    }
+
+    private static CompanyOverview toOverview(Row row) {
+        return new CompanyOverview(toInteger(row.get("id")), row.get("company_name", String.class),
+                toLong(row.get("employee_count")));
+    }
+}
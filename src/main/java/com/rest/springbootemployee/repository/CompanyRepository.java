@@ -3,40 +3,41 @@ package com.rest.springbootemployee.repository;
 import com.rest.springbootemployee.execption.CompanyNotFoundException;
 import com.rest.springbootemployee.pojo.Company;
 import com.rest.springbootemployee.pojo.Employee;
+import com.rest.springbootemployee.pojo.Gender;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Repository
 public class CompanyRepository {
 
     private static final int DEFAULT_ID_MINUS_1 = -1;
-    private List<Company> companies;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
 
     public CompanyRepository() {
-        companies = new ArrayList<>();
-        companies.add(new Company(1, "OOCL", new ArrayList<Employee>(){{
-            add(new Employee(1,"AAA", 23, "male", 8000));
-            add(new Employee(2,"BBB", 24, "female", 6000));
+        insertWithId(new Company(1, "OOCL", new ArrayList<Employee>(){{
+            add(new Employee(1,"AAA", 23, Gender.MALE, 8000));
+            add(new Employee(2,"BBB", 24, Gender.FEMALE, 6000));
         }}));
-        companies.add(new Company(2, "COSU", new ArrayList<Employee>(){{
-            add(new Employee(1,"CCC", 25, "male", 8000));
-            add(new Employee(2,"DDD", 26, "female", 5000));
+        insertWithId(new Company(2, "COSU", new ArrayList<Employee>(){{
+            add(new Employee(1,"CCC", 25, Gender.MALE, 8000));
+            add(new Employee(2,"DDD", 26, Gender.FEMALE, 5000));
         }}));
     }
 
     public List<Company> findAll() {
-        return this.companies;
+        return copy(snapshot.companies);
     }
 
 
     public Company findById(Integer id) {
-        return companies.stream()
-                .filter(company -> company.getId().equals(id))
-                .findFirst()
-                .orElseThrow(CompanyNotFoundException::new);
+        return copy(findById(snapshot, id));
     }
 
     public List<Employee> findEmployeesById(Integer id) {
@@ -45,39 +46,135 @@ public class CompanyRepository {
     }
 
     public List<Company> findByPage(int page, int pageSize) {
-        return companies.stream()
+        return copy(snapshot.companies.stream()
                 .skip((long)(page -1) * pageSize)
                 .limit(pageSize)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
-    public Company insert(Company company) {
+    public synchronized Company insert(Company company) {
         company.setId(generateNewId());
-        companies.add(company);
-        return company;
+        Company insertedCompany = freeze(company.getId(), company.getCompanyName(), company.getEmployeeList());
+        publish(snapshot.with(insertedCompany));
+        return copy(insertedCompany);
     }
 
     private int generateNewId() {
-        int maxExistingId = companies.stream()
-                .mapToInt(Company::getId)
-                .max().orElse(DEFAULT_ID_MINUS_1);
-        return maxExistingId + 1;
+        return snapshot.maxId + 1;
     }
 
-    public Company update(Integer id, Company company) {
-        Company updatedCompany = findById(id);
-        if (company.getCompanyName() != null) {
-            updatedCompany.setCompanyName(company.getCompanyName());
+    public synchronized Company update(Integer id, Company company) {
+        Company existingCompany = findById(snapshot, id);
+        String companyName = company.getCompanyName() != null ? company.getCompanyName() : existingCompany.getCompanyName();
+        Company updatedCompany = freeze(id, companyName, existingCompany.getEmployeeList());
+        publish(snapshot.with(updatedCompany));
+        return copy(updatedCompany);
+    }
+
+    public synchronized void delete(Integer id) {
+        Company company = findById(snapshot, id);
+        publish(snapshot.without(company));
+    }
+
+    public synchronized void clean() {
+        publish(Snapshot.EMPTY);
+    }
+
+    private synchronized void insertWithId(Company company) {
+        publish(snapshot.with(freeze(company.getId(), company.getCompanyName(), company.getEmployeeList())));
+    }
+
+    private void publish(Snapshot newSnapshot) {
+        snapshot = newSnapshot;
+    }
+
+    private static Company findById(Snapshot snapshot, Integer id) {
+        Company company = snapshot.companiesById.get(id);
+        if (company == null) {
+            throw new CompanyNotFoundException();
+        }
+        return company;
+    }
+
+    // the snapshot only holds copies and hands out copies, so no caller can change a published company
+    private static Company freeze(Integer id, String companyName, List<Employee> employees) {
+        List<Employee> frozenEmployees = new ArrayList<>();
+        if (employees != null) {
+            for (Employee employee : employees) {
+                frozenEmployees.add(copy(employee));
+            }
         }
-        return updatedCompany;
+        return new Company(id, companyName, Collections.unmodifiableList(frozenEmployees));
     }
 
-    public void delete(Integer id) {
-        Company company = findById(id);
-        companies.remove(company);
+    private static List<Company> copy(List<Company> companies) {
+        List<Company> copies = new ArrayList<>(companies.size());
+        for (Company company : companies) {
+            copies.add(copy(company));
+        }
+        return Collections.unmodifiableList(copies);
+    }
+
+    private static Company copy(Company company) {
+        Company copy = freeze(company.getId(), company.getCompanyName(), company.getEmployeeList());
+        copy.setVersion(company.getVersion());
+        return copy;
+    }
+
+    private static Employee copy(Employee employee) {
+        Employee copy = new Employee(employee.getId(), employee.getName(), employee.getAge(), employee.getGender(),
+                employee.getSalary(), employee.getCompanyId());
+        copy.setVersion(employee.getVersion());
+        return copy;
     }
 
-    public void clean() {
-        companies.clear();
+    private static final class Snapshot {
+
+        private static final Snapshot EMPTY = new Snapshot(Collections.emptyList(), Collections.emptyMap(), DEFAULT_ID_MINUS_1);
+
+        private final List<Company> companies;
+
+        private final Map<Integer, Company> companiesById;
+
+        private final int maxId;
+
+        private Snapshot(List<Company> companies, Map<Integer, Company> companiesById, int maxId) {
+            this.companies = companies;
+            this.companiesById = companiesById;
+            this.maxId = maxId;
+        }
+
+        private Snapshot with(Company company) {
+            List<Company> companies = new ArrayList<>(this.companies.size() + 1);
+            boolean replaced = false;
+            for (Company existingCompany : this.companies) {
+                if (existingCompany.getId().equals(company.getId())) {
+                    companies.add(company);
+                    replaced = true;
+                } else {
+                    companies.add(existingCompany);
+                }
+            }
+            if (!replaced) {
+                companies.add(company);
+            }
+            return of(companies);
+        }
+
+        private Snapshot without(Company company) {
+            List<Company> companies = new ArrayList<>(this.companies);
+            companies.remove(company);
+            return of(companies);
+        }
+
+        private static Snapshot of(List<Company> companies) {
+            Map<Integer, Company> companiesById = new HashMap<>();
+            int maxId = DEFAULT_ID_MINUS_1;
+            for (Company company : companies) {
+                companiesById.put(company.getId(), company);
+                maxId = Math.max(maxId, company.getId());
+            }
+            return new Snapshot(Collections.unmodifiableList(companies), Collections.unmodifiableMap(companiesById), maxId);
+        }
     }
 }
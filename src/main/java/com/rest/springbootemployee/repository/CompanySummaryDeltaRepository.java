@@ -0,0 +1,70 @@
+package com.rest.springbootemployee.repository;
+
+import com.rest.springbootemployee.pojo.CompanySummary;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceContext;
+
+// H2's merge is not atomic like MySQL's upsert, so H2 writers to one company are serialized on its row
+@Repository
+public class CompanySummaryDeltaRepository {
+
+    private static final String MYSQL_UPSERT = "insert into company_summary (company_id, employee_count, total_salary)" +
+            " values (:companyId, :employeeCount, :totalSalary)" +
+            " on duplicate key update employee_count = employee_count + :employeeCount," +
+            " total_salary = total_salary + :totalSalary";
+
+    private static final String MERGE = "merge into company_summary s" +
+            " using (select cast(:companyId as integer) company_id) d on s.company_id = d.company_id" +
+            " when matched then update set employee_count = s.employee_count + :employeeCount," +
+            " total_salary = s.total_salary + :totalSalary" +
+            " when not matched then insert (company_id, employee_count, total_salary)" +
+            " values (d.company_id, :employeeCount, :totalSalary)";
+
+    private static final String LOCK_COMPANY = "select id from company where id = :companyId for update";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public void applyDelta(Integer companyId, long employeeCount, long totalSalary) {
+        boolean mysql = isMySql();
+        if (!mysql) {
+            lockCompany(companyId);
+        }
+        entityManager.createNativeQuery(mysql ? MYSQL_UPSERT : MERGE)
+                .unwrap(NativeQuery.class)
+                // without it Hibernate invalidates every second-level cache region
+                .addSynchronizedEntityClass(CompanySummary.class)
+                .setParameter("companyId", companyId)
+                .setParameter("employeeCount", employeeCount)
+                .setParameter("totalSalary", totalSalary)
+                .executeUpdate();
+    }
+
+    // on MySQL the gap lock of the locking read also covers a missing row
+    public CompanySummary findForUpdate(Integer companyId) {
+        if (!isMySql()) {
+            lockCompany(companyId);
+        }
+        CompanySummary summary = entityManager.find(CompanySummary.class, companyId, LockModeType.PESSIMISTIC_WRITE);
+        return summary == null ? new CompanySummary(companyId, 0, 0) : summary;
+    }
+
+    private void lockCompany(Integer companyId) {
+        entityManager.createNativeQuery(LOCK_COMPANY)
+                .setParameter("companyId", companyId)
+                .getResultList();
+    }
+
+    private boolean isMySql() {
+        Dialect dialect = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect();
+        return dialect instanceof MySQLDialect;
+    }
+}
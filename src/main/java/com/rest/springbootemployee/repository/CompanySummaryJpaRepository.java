@@ -0,0 +1,16 @@
+package com.rest.springbootemployee.repository;
+
+import com.rest.springbootemployee.pojo.CompanySummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CompanySummaryJpaRepository extends JpaRepository<CompanySummary, Integer> {
+
+    @Modifying
+    @Query("delete from CompanySummary s where s.companyId = :companyId")
+    int deleteCompanySummary(@Param("companyId") Integer companyId);
+}
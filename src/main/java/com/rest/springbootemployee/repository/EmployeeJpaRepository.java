@@ -1,12 +1,105 @@
 package com.rest.springbootemployee.repository;
 
+import com.rest.springbootemployee.pojo.AgeStatistics;
 import com.rest.springbootemployee.pojo.Employee;
+import com.rest.springbootemployee.pojo.EmployeeSummary;
+import com.rest.springbootemployee.pojo.Gender;
+import com.rest.springbootemployee.pojo.SalaryStatistics;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.annotations.QueryHints.FETCH_SIZE;
 
 @Repository
 public interface EmployeeJpaRepository extends JpaRepository<Employee, Integer> {
-    List<Employee> findAllByGender(String gender);
+
+    String SELECT_SUMMARY = "select new com.rest.springbootemployee.pojo.EmployeeSummary(e.id, e.name, e.age, e.gender) from Employee e";
+
+    String SALARY_AGGREGATES = "count(e), min(e.salary), max(e.salary), avg(e.salary), sum(e.salary)";
+
+    List<Employee> findAllByGender(Gender gender);
+
+    @QueryHints(@QueryHint(name = FETCH_SIZE, value = "500"))
+    @Query("select e from Employee e order by e.id")
+    Stream<Employee> streamAll();
+
+    @Query(SELECT_SUMMARY)
+    List<EmployeeSummary> findAllSummaries();
+
+    @Query(SELECT_SUMMARY + " where e.gender = :gender")
+    List<EmployeeSummary> findSummariesByGender(@Param("gender") Gender gender);
+
+    @Query(SELECT_SUMMARY + " where e.companyId = :companyId")
+    List<EmployeeSummary> findAllSummariesByCompanyId(@Param("companyId") Integer companyId, Sort sort);
+
+    @Query(SELECT_SUMMARY + " where e.companyId = :companyId")
+    List<EmployeeSummary> findSummariesByCompanyId(@Param("companyId") Integer companyId, Pageable pageable);
+
+    @Query(SELECT_SUMMARY + " where e.companyId = :companyId and e.id > :id order by e.id")
+    List<EmployeeSummary> findSummariesByCompanyIdAfter(@Param("companyId") Integer companyId, @Param("id") Integer id,
+                                                        Pageable pageable);
+
+    @Query(SELECT_SUMMARY + " order by e.id")
+    List<EmployeeSummary> findSummaries(Pageable pageable);
+
+    @Query(SELECT_SUMMARY + " where e.id > :id order by e.id")
+    List<EmployeeSummary> findSummariesAfter(@Param("id") Integer id, Pageable pageable);
+
+    @Query("select new com.rest.springbootemployee.pojo.SalaryStatistics(" + SALARY_AGGREGATES + ")" +
+            " from Employee e")
+    List<SalaryStatistics> findSalaryStatistics();
+
+    @Query("select new com.rest.springbootemployee.pojo.SalaryStatistics(e.companyId, " + SALARY_AGGREGATES + ")" +
+            " from Employee e group by e.companyId order by e.companyId")
+    List<SalaryStatistics> findSalaryStatisticsByCompany();
+
+    @Query("select new com.rest.springbootemployee.pojo.SalaryStatistics(e.companyId, " + SALARY_AGGREGATES + ")" +
+            " from Employee e where e.companyId = :companyId group by e.companyId")
+    Optional<SalaryStatistics> findSalaryStatisticsByCompanyId(@Param("companyId") Integer companyId);
+
+    @Query("select new com.rest.springbootemployee.pojo.SalaryStatistics(e.gender, " + SALARY_AGGREGATES + ")" +
+            " from Employee e group by e.gender order by e.gender")
+    List<SalaryStatistics> findSalaryStatisticsByGender();
+
+    @Query("select new com.rest.springbootemployee.pojo.SalaryStatistics(e.companyId, e.gender, " + SALARY_AGGREGATES + ")" +
+            " from Employee e group by e.companyId, e.gender order by e.companyId, e.gender")
+    List<SalaryStatistics> findSalaryStatisticsByCompanyAndGender();
+
+    @Query("select new com.rest.springbootemployee.pojo.AgeStatistics(e.age, count(e))" +
+            " from Employee e group by e.age order by e.age")
+    List<AgeStatistics> findAgeStatistics();
+
+    @Query("select new com.rest.springbootemployee.pojo.AgeStatistics(e.companyId, e.age, count(e))" +
+            " from Employee e group by e.companyId, e.age order by e.companyId, e.age")
+    List<AgeStatistics> findAgeStatisticsByCompany();
+
+    @Query("select new com.rest.springbootemployee.pojo.AgeStatistics(e.gender, e.age, count(e))" +
+            " from Employee e group by e.gender, e.age order by e.gender, e.age")
+    List<AgeStatistics> findAgeStatisticsByGender();
+
+    @Query("select new com.rest.springbootemployee.pojo.AgeStatistics(e.companyId, e.gender, e.age, count(e))" +
+            " from Employee e group by e.companyId, e.gender, e.age order by e.companyId, e.gender, e.age")
+    List<AgeStatistics> findAgeStatisticsByCompanyAndGender();
+
+    @QueryHints(@QueryHint(name = FETCH_SIZE, value = "1000"))
+    @Query("select e.id from Employee e")
+    Stream<Integer> streamIds();
+
+    @Query("select e.version from Employee e where e.id = :id")
+    Optional<Long> findVersionById(@Param("id") Integer id);
+
+    @Modifying
+    @Query("update Employee e set e.companyId = null, e.version = e.version + 1 where e.companyId = :companyId")
+    int detachFromCompany(@Param("companyId") Integer companyId);
 }
@@ -0,0 +1,91 @@
+package com.rest.springbootemployee.repository;
+
+import com.rest.springbootemployee.pojo.Employee;
+import com.rest.springbootemployee.pojo.EmployeeSummary;
+import com.rest.springbootemployee.pojo.Gender;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class EmployeeR2dbcRepository {
+
+    private static final String SELECT_SUMMARY = "select id, name, age, gender from employee";
+
+    private static final String SELECT_EMPLOYEE = "select id, name, age, gender, salary, company_id, version from employee";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    public Flux<EmployeeSummary> findAllSummaries() {
+        return databaseClient.sql(SELECT_SUMMARY + " order by id")
+                .map(EmployeeR2dbcRepository::toSummary)
+                .all();
+    }
+
+    public Flux<EmployeeSummary> findSummariesByGender(Gender gender) {
+        return databaseClient.sql(SELECT_SUMMARY + " where gender = :gender order by id")
+                .bind("gender", gender.ordinal())
+                .map(EmployeeR2dbcRepository::toSummary)
+                .all();
+    }
+
+    public Flux<EmployeeSummary> findSummaries(int pageNumber, int pageSize) {
+        return databaseClient.sql(SELECT_SUMMARY + " order by id limit :limit offset :offset")
+                .bind("limit", pageSize)
+                .bind("offset", (long) pageNumber * pageSize)
+                .map(EmployeeR2dbcRepository::toSummary)
+                .all();
+    }
+
+    public Mono<Employee> findById(int id) {
+        return databaseClient.sql(SELECT_EMPLOYEE + " where id = :id")
+                .bind("id", id)
+                .map(EmployeeR2dbcRepository::toEmployee)
+                .one();
+    }
+
+    public Mono<Long> findVersionById(int id) {
+        return databaseClient.sql("select version from employee where id = :id")
+                .bind("id", id)
+                .map(row -> toLong(row.get("version")))
+                .one();
+    }
+
+    public Flux<Employee> findAllByCompanyId(int companyId) {
+        return databaseClient.sql(SELECT_EMPLOYEE + " where company_id = :companyId order by id")
+                .bind("companyId", companyId)
+                .map(EmployeeR2dbcRepository::toEmployee)
+                .all();
+    }
+
+    private static EmployeeSummary toSummary(Row row) {
+        return new EmployeeSummary(toInteger(row.get("id")), row.get("name", String.class), toInteger(row.get("age")),
+                toGender(row.get("gender")));
+    }
+
+    private static Employee toEmployee(Row row) {
+        Employee employee = new Employee(toInteger(row.get("id")), row.get("name", String.class), toInteger(row.get("age")),
+                toGender(row.get("gender")), toInteger(row.get("salary")), toInteger(row.get("company_id")));
+        employee.setVersion(toLong(row.get("version")));
+        return employee;
+    }
+
+    // drivers decode tinyint and integer columns to different Java types
+    static Integer toInteger(Object value) {
+        return value == null ? null : ((Number) value).intValue();
+    }
+
+    static Long toLong(Object value) {
+        return value == null ? null : ((Number) value).longValue();
+    }
+
+    private static Gender toGender(Object value) {
+        return value == null ? null : Gender.values()[((Number) value).intValue()];
+    }
+}
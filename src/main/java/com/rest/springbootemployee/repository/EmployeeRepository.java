@@ -2,78 +2,129 @@ package com.rest.springbootemployee.repository;
 
 import com.rest.springbootemployee.execption.EmployeeNotFoundException;
 import com.rest.springbootemployee.pojo.Employee;
+import com.rest.springbootemployee.pojo.Gender;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 @Repository
 public class EmployeeRepository {
     public static final int DEFAULT_ID_MINUS_1 = -1;
-    private List<Employee> employees;
+
+    private final ConcurrentSkipListMap<Integer, Employee> employeesById = new ConcurrentSkipListMap<>();
+    private final Map<Gender, NavigableSet<Integer>> employeeIdsByGender = new EnumMap<>(Gender.class);
+    private final AtomicInteger lastId = new AtomicInteger(DEFAULT_ID_MINUS_1);
 
     public EmployeeRepository() {
-        employees = new ArrayList<>();
-        employees.add(new Employee(1,"AAA", 23, "male", 8000));
-        employees.add(new Employee(2,"BBB", 23, "male", 8000));
-        employees.add(new Employee(3,"CCC", 23, "male", 8000));
-        employees.add(new Employee(4,"DDD", 23, "male", 8000));
+        for (Gender gender : Gender.values()) {
+            employeeIdsByGender.put(gender, new ConcurrentSkipListSet<>());
+        }
+        put(new Employee(1,"AAA", 23, Gender.MALE, 8000));
+        put(new Employee(2,"BBB", 23, Gender.MALE, 8000));
+        put(new Employee(3,"CCC", 23, Gender.MALE, 8000));
+        put(new Employee(4,"DDD", 23, Gender.MALE, 8000));
+        lastId.set(employeesById.lastKey());
     }
 
     public List<Employee> findAll() {
-        return this.employees;
+        return new ArrayList<>(employeesById.values());
     }
 
     public Employee findById(Integer id) {
-        return employees.stream()
-                .filter(employee -> employee.getId().equals(id)).findFirst()
-                .orElseThrow(EmployeeNotFoundException::new);
+        Employee employee = employeesById.get(id);
+        if (employee == null) {
+            throw new EmployeeNotFoundException();
+        }
+        return employee;
     }
 
-    public List<Employee> findByGender(String gender) {
-        return employees.stream()
-                .filter(employee -> employee.getGender().equals(gender))
-                .collect(Collectors.toList());
+    public List<Employee> findByGender(Gender gender) {
+        if (gender == null) {
+            return Collections.emptyList();
+        }
+        NavigableSet<Integer> ids = employeeIdsByGender.get(gender);
+        List<Employee> employees = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            Employee employee = employeesById.get(id);
+            if (employee != null) {
+                employees.add(employee);
+            }
+        }
+        return employees;
     }
 
     public List<Employee> findByPage(int page, int pageSize) {
-        return employees.stream()
+        return employeesById.values().stream()
                 .skip((long)(page -1) * pageSize)
                 .limit(pageSize)
                 .collect(Collectors.toList());
     }
 
     public Employee insert(Employee employee) {
-        employee.setId(generateNewId());
-        employees.add(employee);
+        employee.setId(lastId.incrementAndGet());
+        put(employee);
         return employee;
     }
 
-    private int generateNewId() {
-        int maxExistingId = employees.stream()
-                .mapToInt(Employee::getId)
-                .max().orElse(DEFAULT_ID_MINUS_1);
-        return maxExistingId + 1;
-    }
-
     public Employee update(int id, Employee employee) {
-        Employee updateEmployee = findById(id);
-        if(employee.getAge() != null){
-            updateEmployee.setAge(employee.getAge());
-        }
-        if(employee.getSalary() != null){
-            updateEmployee.setSalary(employee.getSalary());
+        Employee updatedEmployee = employeesById.computeIfPresent(id, (key, existingEmployee) -> {
+            Employee copy = copyOf(existingEmployee);
+            if(employee.getAge() != null){
+                copy.setAge(employee.getAge());
+            }
+            if(employee.getSalary() != null){
+                copy.setSalary(employee.getSalary());
+            }
+            return copy;
+        });
+        if (updatedEmployee == null) {
+            throw new EmployeeNotFoundException();
         }
-        return updateEmployee;
+        return updatedEmployee;
     }
 
     public void delete(int id) {
-        Employee employee = findById(id);
-        employees.remove(employee);
+        Employee employee = employeesById.remove(id);
+        if (employee == null) {
+            throw new EmployeeNotFoundException();
+        }
+        unindexGender(employee);
     }
 
     public void clean() {
-        employees.clear();
+        employeesById.clear();
+        employeeIdsByGender.values().forEach(NavigableSet::clear);
+        lastId.set(DEFAULT_ID_MINUS_1);
+    }
+
+    private void put(Employee employee) {
+        Employee previous = employeesById.put(employee.getId(), employee);
+        if (previous != null) {
+            unindexGender(previous);
+        }
+        if (employee.getGender() != null) {
+            employeeIdsByGender.get(employee.getGender()).add(employee.getId());
+        }
+    }
+
+    private void unindexGender(Employee employee) {
+        if (employee.getGender() == null) {
+            return;
+        }
+        employeeIdsByGender.get(employee.getGender()).remove(employee.getId());
+    }
+
+    private Employee copyOf(Employee employee) {
+        return new Employee(employee.getId(), employee.getName(), employee.getAge(), employee.getGender(),
+                employee.getSalary(), employee.getCompanyId());
     }
 }
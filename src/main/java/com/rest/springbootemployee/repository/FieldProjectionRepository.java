@@ -0,0 +1,136 @@
+package com.rest.springbootemployee.repository;
+
+import com.rest.springbootemployee.execption.InvalidFieldsException;
+import com.rest.springbootemployee.pojo.Company;
+import com.rest.springbootemployee.pojo.Employee;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@Repository
+public class FieldProjectionRepository {
+
+    public static final String EMPLOYEE_COUNT = "employeeCount";
+
+    private static final Set<String> EMPLOYEE_FIELDS = new LinkedHashSet<>(Arrays.asList("id", "name", "age", "gender"));
+
+    private static final Set<String> COMPANY_FIELDS = new LinkedHashSet<>(Arrays.asList("id", "companyName", EMPLOYEE_COUNT));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public List<Map<String, Object>> findEmployees(List<String> fields, Integer companyId, Pageable pageable) {
+        List<String> selectedFields = toSelectedFields(fields, EMPLOYEE_FIELDS);
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Employee> employee = query.from(Employee.class);
+        query.multiselect(select(employee, selectedFields));
+        if (companyId != null) {
+            query.where(builder.equal(employee.get("companyId"), builder.parameter(Integer.class, "companyId")));
+        }
+        query.orderBy(builder.asc(employee.get("id")));
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (companyId != null) {
+            typedQuery.setParameter("companyId", companyId);
+        }
+        return toMaps(typedQuery, selectedFields, pageable);
+    }
+
+    public Optional<Map<String, Object>> findEmployeeById(Integer id, List<String> fields) {
+        List<String> selectedFields = toSelectedFields(fields, EMPLOYEE_FIELDS);
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Employee> employee = query.from(Employee.class);
+        query.multiselect(select(employee, selectedFields))
+                .where(builder.equal(employee.get("id"), builder.parameter(Integer.class, "id")));
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query).setParameter("id", id);
+        List<Map<String, Object>> employees = toMaps(typedQuery, selectedFields, Pageable.unpaged());
+        return employees.stream().findFirst();
+    }
+
+    public List<Map<String, Object>> findCompanies(List<String> fields, Pageable pageable) {
+        List<String> selectedFields = toSelectedFields(fields, COMPANY_FIELDS);
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Company> company = query.from(Company.class);
+        List<Selection<?>> selections = new ArrayList<>(selectedFields.size());
+        List<Expression<?>> groupings = new ArrayList<>(selectedFields.size());
+        for (String field : selectedFields) {
+            if (EMPLOYEE_COUNT.equals(field)) {
+                selections.add(builder.count(company.join("employeeList", JoinType.LEFT)).alias(field));
+            } else {
+                selections.add(company.get(field).alias(field));
+                groupings.add(company.get(field));
+            }
+        }
+        query.multiselect(selections);
+        if (selectedFields.contains(EMPLOYEE_COUNT)) {
+            groupings.add(company.get("id"));
+            query.groupBy(groupings);
+        }
+        query.orderBy(builder.asc(company.get("id")));
+        return toMaps(entityManager.createQuery(query), selectedFields, pageable);
+    }
+
+    private static List<Selection<?>> select(Root<?> root, List<String> fields) {
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            selections.add(root.get(field).alias(field));
+        }
+        return selections;
+    }
+
+    private static List<String> toSelectedFields(List<String> fields, Set<String> allowedFields) {
+        if (fields == null || fields.isEmpty()) {
+            throw new InvalidFieldsException();
+        }
+        Set<String> selectedFields = new LinkedHashSet<>();
+        for (String field : fields) {
+            String trimmedField = field == null ? "" : field.trim();
+            if (!allowedFields.contains(trimmedField)) {
+                throw new InvalidFieldsException();
+            }
+            selectedFields.add(trimmedField);
+        }
+        return new ArrayList<>(selectedFields);
+    }
+
+    private static List<Map<String, Object>> toMaps(TypedQuery<Tuple> query, List<String> fields, Pageable pageable) {
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<Tuple> tuples = query.getResultList();
+        if (tuples.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : fields) {
+                row.put(field, tuple.get(field));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,25 @@
+package com.rest.springbootemployee.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+
+// the lease expires on its own when the holder dies without unlocking
+@Repository
+public class JobLockRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public boolean tryLock(String name, Duration lease) {
+        long now = System.currentTimeMillis();
+        return jdbcTemplate.update("update job_lock set locked_until = ? where name = ? and locked_until <= ?",
+                now + lease.toMillis(), name, now) == 1;
+    }
+
+    public void unlock(String name) {
+        jdbcTemplate.update("update job_lock set locked_until = 0 where name = ?", name);
+    }
+}
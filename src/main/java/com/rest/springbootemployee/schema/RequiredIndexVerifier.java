@@ -0,0 +1,76 @@
+package com.rest.springbootemployee.schema;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+@Component
+public class RequiredIndexVerifier implements SmartInitializingSingleton {
+
+    static final Map<String, List<String>> REQUIRED_INDEXES;
+
+    static {
+        Map<String, List<String>> requiredIndexes = new LinkedHashMap<>();
+        requiredIndexes.put("employee", Arrays.asList("idx_employee_gender", "idx_employee_company_summary"));
+        REQUIRED_INDEXES = Collections.unmodifiableMap(requiredIndexes);
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<String> missingIndexes = findMissingIndexes();
+        if (!missingIndexes.isEmpty()) {
+            throw new IllegalStateException("Missing required indexes " + missingIndexes
+                    + ", check that the database migrations have been applied");
+        }
+    }
+
+    List<String> findMissingIndexes() {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            List<String> missingIndexes = new ArrayList<>();
+            for (Map.Entry<String, List<String>> requiredIndexes : REQUIRED_INDEXES.entrySet()) {
+                Set<String> indexes = findIndexes(connection, metaData, requiredIndexes.getKey());
+                for (String requiredIndex : requiredIndexes.getValue()) {
+                    if (!indexes.contains(requiredIndex.toLowerCase(Locale.ROOT))) {
+                        missingIndexes.add(requiredIndexes.getKey() + "." + requiredIndex);
+                    }
+                }
+            }
+            return missingIndexes;
+        } catch (SQLException exception) {
+            throw new IllegalStateException("Could not read index metadata", exception);
+        }
+    }
+
+    private static Set<String> findIndexes(Connection connection, DatabaseMetaData metaData, String table) throws SQLException {
+        String tableName = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+        Set<String> indexes = new TreeSet<>();
+        try (ResultSet indexInfo = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), tableName, false, true)) {
+            while (indexInfo.next()) {
+                String indexName = indexInfo.getString("INDEX_NAME");
+                if (indexName != null) {
+                    indexes.add(indexName.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return indexes;
+    }
+}
@@ -0,0 +1,54 @@
+package com.rest.springbootemployee.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkCreateResult {
+
+    private int created;
+
+    private List<ChunkFailure> failures = new ArrayList<>();
+
+    public int getCreated() {
+        return created;
+    }
+
+    public List<ChunkFailure> getFailures() {
+        return failures;
+    }
+
+    void addCreated(int count) {
+        created += count;
+    }
+
+    void addFailure(int fromIndex, int toIndex, String message) {
+        failures.add(new ChunkFailure(fromIndex, toIndex, message));
+    }
+
+    public static class ChunkFailure {
+
+        private final int fromIndex;
+
+        private final int toIndex;
+
+        private final String message;
+
+        public ChunkFailure(int fromIndex, int toIndex, String message) {
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+            this.message = message;
+        }
+
+        public int getFromIndex() {
+            return fromIndex;
+        }
+
+        public int getToIndex() {
+            return toIndex;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.rest.springbootemployee.service;
+
+import com.rest.springbootemployee.pojo.Company;
+import com.rest.springbootemployee.pojo.Employee;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.persistence.EntityManagerFactory;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class CacheService {
+
+    public static final String COMPANY_EMPLOYEES_REGION = Company.class.getName() + ".employeeList";
+
+    private static final long UNKNOWN_COUNT = -1;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    public boolean containsEmployee(Integer id) {
+        return entityManagerFactory.getCache().contains(Employee.class, id);
+    }
+
+    public boolean containsCompanyWithEmployees(Integer id) {
+        return getCache().containsEntity(Company.class, id) && getCache().containsCollection(COMPANY_EMPLOYEES_REGION, id);
+    }
+
+    public void evictCompanyEmployees(Integer companyId) {
+        if (companyId != null) {
+            evictNowAndAfterCommit(() -> getCache().evictCollectionData(COMPANY_EMPLOYEES_REGION, companyId));
+        }
+    }
+
+    public void evictAllCompanyEmployees() {
+        evictNowAndAfterCommit(() -> getCache().evictCollectionData(COMPANY_EMPLOYEES_REGION));
+    }
+
+    // empty unless cache.statistics.enabled turns Hibernate statistics on
+    public List<CacheRegionStatistics> getRegionStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<CacheRegionStatistics> regionStatistics = new ArrayList<>();
+        if (!statistics.isStatisticsEnabled()) {
+            return regionStatistics;
+        }
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            org.hibernate.stat.CacheRegionStatistics cacheRegionStatistics = statistics.getCacheRegionStatistics(region);
+            if (cacheRegionStatistics == null) {
+                continue;
+            }
+            regionStatistics.add(new CacheRegionStatistics(region,
+                    cacheRegionStatistics.getHitCount(),
+                    cacheRegionStatistics.getMissCount(),
+                    cacheRegionStatistics.getPutCount(),
+                    getEvictionCount(region)));
+        }
+        return regionStatistics;
+    }
+
+    private long getEvictionCount(String region) {
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        try {
+            for (ObjectName name : mBeanServer.queryNames(new ObjectName("javax.cache:type=CacheStatistics,*"), null)) {
+                if (region.equals(name.getKeyProperty("Cache"))) {
+                    return (Long) mBeanServer.getAttribute(name, "CacheEvictions");
+                }
+            }
+        } catch (JMException exception) {
+            return UNKNOWN_COUNT;
+        }
+        return UNKNOWN_COUNT;
+    }
+
+    // a read between the write and its commit can put the old rows back
+    private static void evictNowAndAfterCommit(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    private Cache getCache() {
+        return entityManagerFactory.getCache().unwrap(Cache.class);
+    }
+}
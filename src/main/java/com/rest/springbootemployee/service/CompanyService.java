@@ -1,32 +1,136 @@
 package com.rest.springbootemployee.service;
 
 import com.rest.springbootemployee.execption.CompanyNotFoundException;
-import com.rest.springbootemployee.execption.EmployeeNotFoundException;
+import com.rest.springbootemployee.execption.InvalidSortException;
+import com.rest.springbootemployee.execption.VersionMismatchException;
+import com.rest.springbootemployee.lookup.ExistenceFilters;
 import com.rest.springbootemployee.pojo.Company;
-import com.rest.springbootemployee.pojo.Employee;
+import com.rest.springbootemployee.pojo.CompanyMemberVersion;
+import com.rest.springbootemployee.pojo.CompanyOverview;
+import com.rest.springbootemployee.pojo.CompanyVersion;
+import com.rest.springbootemployee.pojo.EmployeeSummary;
 import com.rest.springbootemployee.repository.CompanyJpaRepository;
+import com.rest.springbootemployee.repository.EmployeeJpaRepository;
+import com.rest.springbootemployee.repository.FieldProjectionRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
+@Timed("service.company")
 public class CompanyService {
 
+    private static final Sort EMPLOYEE_ORDER = Sort.by("id");
+
+    private static final Set<String> EMPLOYEE_SORT_PROPERTIES = new HashSet<>(Arrays.asList("id", "name", "age", "gender"));
+
     @Autowired
     private CompanyJpaRepository companyJpaRepository;
 
+    @Autowired
+    private EmployeeJpaRepository employeeJpaRepository;
+
+    @Autowired
+    private FieldProjectionRepository fieldProjectionRepository;
+
+    @Autowired
+    private CompanySummaryService companySummaryService;
+
+    @Autowired
+    private ExistenceFilters existenceFilters;
+
+    @Autowired
+    private CacheService cacheService;
+
+    @Transactional(readOnly = true)
     public List<Company> findAll() {
-        return companyJpaRepository.findAll();
+        return companyJpaRepository.findAllWithEmployees();
     }
 
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findOverviewFields(List<String> fields) {
+        return fieldProjectionRepository.findCompanies(fields, Pageable.unpaged());
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findOverviewFieldsByPage(int pageNumber, int pageSize, List<String> fields) {
+        return fieldProjectionRepository.findCompanies(fields, PageRequest.of(pageNumber, pageSize));
+    }
+
+    @Transactional(readOnly = true)
     public Company findById(int id) {
+        if (!existenceFilters.mightContainCompany(id)) {
+            throw new CompanyNotFoundException();
+        }
         return companyJpaRepository.findById(id).orElseThrow(CompanyNotFoundException::new);
     }
 
+    @Transactional(readOnly = true)
+    public CompanyVersion findVersion(int id) {
+        if (!existenceFilters.mightContainCompany(id)) {
+            throw new CompanyNotFoundException();
+        }
+        if (cacheService.containsCompanyWithEmployees(id)) {
+            return CompanyVersion.of(findById(id));
+        }
+        List<CompanyMemberVersion> members = companyJpaRepository.findMemberVersionsById(id);
+        if (members.isEmpty()) {
+            throw new CompanyNotFoundException();
+        }
+        return CompanyVersion.of(members);
+    }
+
+    @Transactional(readOnly = true)
     public List<Company> findByPage(int pageNumber, int pageSize) {
-        return companyJpaRepository.findAll(PageRequest.of(pageNumber, pageSize)).toList();
+        List<Integer> ids = companyJpaRepository.findIds(PageRequest.of(pageNumber, pageSize));
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return companyJpaRepository.findAllWithEmployeesByIdIn(ids);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Company> findAfter(int lastId, int limit) {
+        List<Integer> ids = companyJpaRepository.findIdsAfter(lastId, PageRequest.of(0, limit));
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return companyJpaRepository.findAllWithEmployeesByIdIn(ids);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CompanyOverview> findAllOverviews() {
+        return companyJpaRepository.findAllOverviews();
+    }
+
+    @Transactional(readOnly = true)
+    public List<CompanyOverview> findOverviewsByPage(int pageNumber, int pageSize) {
+        List<Integer> ids = companyJpaRepository.findIds(PageRequest.of(pageNumber, pageSize));
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return companyJpaRepository.findOverviewsByIdIn(ids);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CompanyOverview> findOverviewsAfter(int lastId, int limit) {
+        List<Integer> ids = companyJpaRepository.findIdsAfter(lastId, PageRequest.of(0, limit));
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return companyJpaRepository.findOverviewsByIdIn(ids);
     }
 
     public Company create(Company company) {
@@ -34,23 +138,79 @@ public class CompanyService {
     }
 
     public Company update(int id, Company company) {
-        Company updatedCompany = findById(id);
+        return update(id, company, null);
+    }
+
+    @Transactional
+    public Company update(int id, Company company, Long expectedVersion) {
+        Company storedCompany = findById(id);
+        if (expectedVersion != null && storedCompany.getVersion() != expectedVersion) {
+            throw new VersionMismatchException();
+        }
         if (company.getCompanyName() != null) {
-            updatedCompany.setCompanyName(company.getCompanyName());
+            storedCompany.setCompanyName(company.getCompanyName());
         }
-        return companyJpaRepository.save(updatedCompany);
+        flush();
+        return storedCompany;
     }
 
+    @Transactional
     public void delete(int id) {
-        boolean exists = companyJpaRepository.existsById(id);
-        if (!exists) {
+        if (!existenceFilters.mightContainCompany(id)) {
             throw new CompanyNotFoundException();
         }
-        companyJpaRepository.deleteById(id);
+        // drops whole cache regions instead of loading every employee to evict it; company deletes are rare
+        employeeJpaRepository.detachFromCompany(id);
+        if (companyJpaRepository.deleteCompany(id) == 0) {
+            throw new CompanyNotFoundException();
+        }
+        companySummaryService.companyDeleted(id);
+    }
+
+    @Transactional(readOnly = true)
+    public List<EmployeeSummary> findEmployeesById(Integer id) {
+        return requireCompany(id, employeeJpaRepository.findAllSummariesByCompanyId(id, EMPLOYEE_ORDER));
     }
 
-    public List<Employee> findEmployeesById(Integer id) {
-        Company company = findById(id);
-        return company.getEmployeeList();
+    @Transactional(readOnly = true)
+    public List<EmployeeSummary> findEmployeesByPage(Integer id, int pageNumber, int pageSize, Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!EMPLOYEE_SORT_PROPERTIES.contains(order.getProperty())) {
+                throw new InvalidSortException();
+            }
+        }
+        Sort employeeSort = sort.getOrderFor("id") == null ? sort.and(EMPLOYEE_ORDER) : sort;
+        return requireCompany(id, employeeJpaRepository.findSummariesByCompanyId(id, PageRequest.of(pageNumber, pageSize, employeeSort)));
+    }
+
+    @Transactional(readOnly = true)
+    public List<EmployeeSummary> findEmployeesAfter(Integer id, int lastId, int limit) {
+        return requireCompany(id, employeeJpaRepository.findSummariesByCompanyIdAfter(id, lastId, PageRequest.of(0, limit)));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findEmployeeFieldsById(Integer id, List<String> fields) {
+        return requireCompany(id, fieldProjectionRepository.findEmployees(fields, id, Pageable.unpaged()));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findEmployeeFieldsByPage(Integer id, int pageNumber, int pageSize, List<String> fields) {
+        return requireCompany(id, fieldProjectionRepository.findEmployees(fields, id, PageRequest.of(pageNumber, pageSize)));
+    }
+
+    // the company's existence is only checked when it has no employees
+    private <T> List<T> requireCompany(Integer id, List<T> employees) {
+        if (employees.isEmpty() && (!existenceFilters.mightContainCompany(id) || !companyJpaRepository.existsById(id))) {
+            throw new CompanyNotFoundException();
+        }
+        return employees;
+    }
+
+    private void flush() {
+        try {
+            companyJpaRepository.flush();
+        } catch (ObjectOptimisticLockingFailureException exception) {
+            throw new VersionMismatchException();
+        }
     }
 }
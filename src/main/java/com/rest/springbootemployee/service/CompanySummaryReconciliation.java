@@ -0,0 +1,70 @@
+package com.rest.springbootemployee.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CompanySummaryReconciliation {
+
+    private int checked;
+
+    private List<Drift> drifts = new ArrayList<>();
+
+    public int getChecked() {
+        return checked;
+    }
+
+    public List<Drift> getDrifts() {
+        return drifts;
+    }
+
+    void addChecked() {
+        checked++;
+    }
+
+    void addDrift(Integer companyId, long expectedEmployeeCount, long actualEmployeeCount,
+                  long expectedTotalSalary, long actualTotalSalary) {
+        drifts.add(new Drift(companyId, expectedEmployeeCount, actualEmployeeCount, expectedTotalSalary, actualTotalSalary));
+    }
+
+    public static class Drift {
+
+        private final Integer companyId;
+
+        private final long expectedEmployeeCount;
+
+        private final long actualEmployeeCount;
+
+        private final long expectedTotalSalary;
+
+        private final long actualTotalSalary;
+
+        public Drift(Integer companyId, long expectedEmployeeCount, long actualEmployeeCount,
+                     long expectedTotalSalary, long actualTotalSalary) {
+            this.companyId = companyId;
+            this.expectedEmployeeCount = expectedEmployeeCount;
+            this.actualEmployeeCount = actualEmployeeCount;
+            this.expectedTotalSalary = expectedTotalSalary;
+            this.actualTotalSalary = actualTotalSalary;
+        }
+
+        public Integer getCompanyId() {
+            return companyId;
+        }
+
+        public long getExpectedEmployeeCount() {
+            return expectedEmployeeCount;
+        }
+
+        public long getActualEmployeeCount() {
+            return actualEmployeeCount;
+        }
+
+        public long getExpectedTotalSalary() {
+            return expectedTotalSalary;
+        }
+
+        public long getActualTotalSalary() {
+            return actualTotalSalary;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.rest.springbootemployee.service;
+
+import com.rest.springbootemployee.pojo.CompanySummary;
+import com.rest.springbootemployee.pojo.Employee;
+import com.rest.springbootemployee.pojo.SalaryStatistics;
+import com.rest.springbootemployee.repository.CompanyJpaRepository;
+import com.rest.springbootemployee.repository.CompanySummaryDeltaRepository;
+import com.rest.springbootemployee.repository.CompanySummaryJpaRepository;
+import com.rest.springbootemployee.repository.EmployeeJpaRepository;
+import com.rest.springbootemployee.repository.JobLockRepository;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Timed("service.company-summary")
+public class CompanySummaryService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompanySummaryService.class);
+
+    private static final String RECONCILE_JOB = "company-summary-reconcile";
+
+    private static final int RECONCILE_BATCH_SIZE = 100;
+
+    @Autowired
+    private CompanySummaryJpaRepository companySummaryJpaRepository;
+
+    @Autowired
+    private CompanySummaryDeltaRepository companySummaryDeltaRepository;
+
+    @Autowired
+    private EmployeeJpaRepository employeeJpaRepository;
+
+    @Autowired
+    private CompanyJpaRepository companyJpaRepository;
+
+    @Autowired
+    private JobLockRepository jobLockRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${company.summary.reconcile-lock-lease:PT30M}")
+    private Duration reconcileLockLease;
+
+    @Transactional(readOnly = true)
+    public CompanySummary findByCompanyId(Integer companyId) {
+        return companySummaryJpaRepository.findById(companyId)
+                .orElseGet(() -> new CompanySummary(companyId, 0, 0));
+    }
+
+    @Transactional(readOnly = true)
+    public List<CompanySummary> findAll() {
+        return companySummaryJpaRepository.findAll();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void employeeAdded(Employee employee) {
+        applyDelta(employee.getCompanyId(), 1, salaryOf(employee));
+    }
+
+    // must run before the new salary is set: the delta is computed against the loaded salary
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void salaryChanging(Employee employee, Integer newSalary) {
+        applyDelta(employee.getCompanyId(), 0, salaryOf(newSalary) - salaryOf(employee));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void employeeRemoved(Employee employee) {
+        applyDelta(employee.getCompanyId(), -1, -salaryOf(employee));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void employeesAdded(List<Employee> employees) {
+        Map<Integer, long[]> deltas = new HashMap<>();
+        for (Employee employee : employees) {
+            if (employee.getCompanyId() != null) {
+                long[] delta = deltas.computeIfAbsent(employee.getCompanyId(), companyId -> new long[2]);
+                delta[0]++;
+                delta[1] += salaryOf(employee);
+            }
+        }
+        deltas.forEach((companyId, delta) -> applyDelta(companyId, delta[0], delta[1]));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void companyDeleted(Integer companyId) {
+        companySummaryJpaRepository.deleteCompanySummary(companyId);
+    }
+
+    @Scheduled(fixedDelayString = "${company.summary.reconcile-interval:PT1H}",
+            initialDelayString = "${company.summary.reconcile-initial-delay:PT1M}")
+    public void scheduledReconcile() {
+        if (!jobLockRepository.tryLock(RECONCILE_JOB, reconcileLockLease)) {
+            return;
+        }
+        try {
+            CompanySummaryReconciliation reconciliation = reconcile();
+            if (!reconciliation.getDrifts().isEmpty()) {
+                LOGGER.warn("Company summary drifted for {} of {} companies and was rebuilt",
+                        reconciliation.getDrifts().size(), reconciliation.getChecked());
+            }
+        } finally {
+            jobLockRepository.unlock(RECONCILE_JOB);
+        }
+    }
+
+    // one transaction per company, so only writers to that company wait on its summary lock
+    public CompanySummaryReconciliation reconcile() {
+        CompanySummaryReconciliation reconciliation = new CompanySummaryReconciliation();
+        List<Integer> companyIds = companyJpaRepository.findIdsAfter(0, PageRequest.of(0, RECONCILE_BATCH_SIZE));
+        while (!companyIds.isEmpty()) {
+            for (Integer companyId : companyIds) {
+                transactionTemplate.executeWithoutResult(status -> reconcile(reconciliation, companyId));
+            }
+            companyIds = companyJpaRepository.findIdsAfter(companyIds.get(companyIds.size() - 1),
+                    PageRequest.of(0, RECONCILE_BATCH_SIZE));
+        }
+        return reconciliation;
+    }
+
+    private void reconcile(CompanySummaryReconciliation reconciliation, Integer companyId) {
+        CompanySummary summary = companySummaryDeltaRepository.findForUpdate(companyId);
+        SalaryStatistics statistics = employeeJpaRepository.findSalaryStatisticsByCompanyId(companyId).orElse(null);
+        long employeeCount = statistics == null ? 0 : statistics.getHeadcount();
+        long totalSalary = statistics == null || statistics.getTotalSalary() == null ? 0 : statistics.getTotalSalary();
+        reconciliation.addChecked();
+        if (summary.getEmployeeCount() == employeeCount && summary.getTotalSalary() == totalSalary) {
+            return;
+        }
+        reconciliation.addDrift(companyId, employeeCount, summary.getEmployeeCount(),
+                totalSalary, summary.getTotalSalary());
+        companySummaryDeltaRepository.applyDelta(companyId, employeeCount - summary.getEmployeeCount(),
+                totalSalary - summary.getTotalSalary());
+    }
+
+    private void applyDelta(Integer companyId, long employeeCount, long totalSalary) {
+        if (companyId == null || (employeeCount == 0 && totalSalary == 0)) {
+            return;
+        }
+        companySummaryDeltaRepository.applyDelta(companyId, employeeCount, totalSalary);
+    }
+
+    private static long salaryOf(Employee employee) {
+        return salaryOf(employee.getSalary());
+    }
+
+    private static long salaryOf(Integer salary) {
+        return salary == null ? 0 : salary;
+    }
+}
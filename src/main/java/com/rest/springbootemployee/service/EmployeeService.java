@@ -2,60 +2,319 @@ package com.rest.springbootemployee.service;
 
 import com.rest.springbootemployee.controller.dto.EmployeeResponse;
 import com.rest.springbootemployee.execption.EmployeeNotFoundException;
+import com.rest.springbootemployee.execption.InvalidGroupingException;
+import com.rest.springbootemployee.execption.TooManyIdsException;
+import com.rest.springbootemployee.execption.VersionMismatchException;
+import com.rest.springbootemployee.lookup.ExistenceFilters;
+import com.rest.springbootemployee.pojo.AgeStatistics;
 import com.rest.springbootemployee.pojo.Employee;
+import com.rest.springbootemployee.pojo.EmployeeSummary;
+import com.rest.springbootemployee.pojo.Gender;
+import com.rest.springbootemployee.pojo.SalaryStatistics;
 import com.rest.springbootemployee.repository.EmployeeJpaRepository;
 import com.rest.springbootemployee.repository.EmployeeRepository;
+import com.rest.springbootemployee.repository.FieldProjectionRepository;
+import io.micrometer.core.annotation.Timed;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
+@Timed("service.employee")
 public class EmployeeService {
+
+    public static final String GROUP_BY_NONE = "none";
+    public static final String GROUP_BY_COMPANY = "company";
+    public static final String GROUP_BY_GENDER = "gender";
+    public static final String GROUP_BY_COMPANY_AND_GENDER = "company,gender";
+
     @Autowired
     private EmployeeJpaRepository employeeJpaRepository;
 
-    public List<Employee> findAll() {
-        List<Employee> employees = employeeJpaRepository.findAll();
-        return employees;
+    @Autowired
+    private FieldProjectionRepository fieldProjectionRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CacheService cacheService;
+
+    @Autowired
+    private CompanySummaryService companySummaryService;
+
+    @Autowired
+    private ExistenceFilters existenceFilters;
+
+    @Value("${employee.bulk.chunk-size:1000}")
+    private int bulkChunkSize;
+
+    @Value("${employee.multi-get.chunk-size:500}")
+    private int multiGetChunkSize;
+
+    @Value("${employee.multi-get.max-ids:10000}")
+    private int multiGetMaxIds;
+
+    @Transactional(readOnly = true)
+    public List<EmployeeSummary> findAll() {
+        return employeeJpaRepository.findAllSummaries();
     }
 
     public Employee update(int id, Employee toUpdate) {
+        return update(id, toUpdate, null);
+    }
+
+    @Transactional
+    public Employee update(int id, Employee toUpdate, Long expectedVersion) {
         Employee employee = findById(id);
-        if(toUpdate.getAge() != null){
-            employee.setAge(toUpdate.getAge());
+        if (expectedVersion != null && employee.getVersion() != expectedVersion) {
+            throw new VersionMismatchException();
         }
-        if(toUpdate.getSalary() != null){
+        if (toUpdate.getSalary() != null) {
+            companySummaryService.salaryChanging(employee, toUpdate.getSalary());
             employee.setSalary(toUpdate.getSalary());
         }
-        Employee saveEmployee = employeeJpaRepository.save(employee);
-        return saveEmployee;
+        if (toUpdate.getAge() != null) {
+            employee.setAge(toUpdate.getAge());
+        }
+        flush();
+        return employee;
     }
 
+    @Transactional
     public Employee create(Employee employee) {
-        return employeeJpaRepository.save(employee);
+        Employee savedEmployee = employeeJpaRepository.save(employee);
+        companySummaryService.employeeAdded(savedEmployee);
+        cacheService.evictCompanyEmployees(savedEmployee.getCompanyId());
+        return savedEmployee;
     }
 
-    public void delete(int id) {
-        boolean exists = employeeJpaRepository.existsById(id);
-        if(!exists){
-            throw new EmployeeNotFoundException();
+    // a record that fails to parse or map fails its whole chunk
+    public BulkCreateResult createAll(Stream<Supplier<Employee>> employees) {
+        BulkCreateResult result = new BulkCreateResult();
+        try {
+            List<Employee> chunk = new ArrayList<>(bulkChunkSize);
+            String chunkFailure = null;
+            int fromIndex = 0;
+            int index = 0;
+            Iterator<Supplier<Employee>> iterator = employees.iterator();
+            while (iterator.hasNext()) {
+                try {
+                    chunk.add(iterator.next().get());
+                } catch (RuntimeException exception) {
+                    if (chunkFailure == null) {
+                        chunkFailure = exception.getMessage();
+                    }
+                }
+                index++;
+                if (index - fromIndex == bulkChunkSize || !iterator.hasNext()) {
+                    if (chunkFailure == null) {
+                        createChunk(chunk, fromIndex, result);
+                    } else {
+                        result.addFailure(fromIndex, index, chunkFailure);
+                    }
+                    fromIndex = index;
+                    chunk = new ArrayList<>(bulkChunkSize);
+                    chunkFailure = null;
+                }
+            }
+        } finally {
+            cacheService.evictAllCompanyEmployees();
         }
-        employeeJpaRepository.deleteById(id);
+        return result;
     }
 
+    private void createChunk(List<Employee> chunk, int fromIndex, BulkCreateResult result) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                employeeJpaRepository.saveAll(chunk);
+                companySummaryService.employeesAdded(chunk);
+                employeeJpaRepository.flush();
+            });
+            result.addCreated(chunk.size());
+        } catch (RuntimeException exception) {
+            result.addFailure(fromIndex, fromIndex + chunk.size(), exception.getMessage());
+        } finally {
+            entityManager.clear();
+        }
+    }
+
+    @Transactional
+    public void delete(int id) {
+        Employee employee = findById(id);
+        companySummaryService.employeeRemoved(employee);
+        employeeJpaRepository.delete(employee);
+        flush();
+        cacheService.evictCompanyEmployees(employee.getCompanyId());
+    }
+
+    @Transactional(readOnly = true)
     public Employee findById(int id) {
+        if (!existenceFilters.mightContainEmployee(id)) {
+            throw new EmployeeNotFoundException();
+        }
         return employeeJpaRepository.findById(id)
                 .orElseThrow(EmployeeNotFoundException::new);
     }
 
-    public List<Employee> findByGender(String gender) {
-        return employeeJpaRepository.findAllByGender(gender);
+    // ids held by the second-level cache are served from it
+    @Transactional(readOnly = true)
+    public Map<Integer, Employee> findAllById(List<Integer> ids) {
+        if (ids.size() > multiGetMaxIds) {
+            throw new TooManyIdsException();
+        }
+        Set<Integer> requestedIds = new LinkedHashSet<>(ids);
+        Map<Integer, Employee> employeesById = new HashMap<>();
+        List<Integer> uncachedIds = new ArrayList<>();
+        for (Integer id : requestedIds) {
+            if (id == null || !existenceFilters.mightContainEmployee(id)) {
+                continue;
+            }
+            if (cacheService.containsEmployee(id)) {
+                employeeJpaRepository.findById(id).ifPresent(employee -> employeesById.put(id, employee));
+            } else {
+                uncachedIds.add(id);
+            }
+        }
+        for (int fromIndex = 0; fromIndex < uncachedIds.size(); fromIndex += multiGetChunkSize) {
+            List<Integer> chunk = uncachedIds.subList(fromIndex, Math.min(fromIndex + multiGetChunkSize, uncachedIds.size()));
+            for (Employee employee : employeeJpaRepository.findAllById(chunk)) {
+                employeesById.put(employee.getId(), employee);
+            }
+        }
+        Map<Integer, Employee> employees = new LinkedHashMap<>();
+        for (Integer id : requestedIds) {
+            Employee employee = employeesById.get(id);
+            if (employee != null) {
+                employees.put(id, employee);
+            }
+        }
+        return employees;
+    }
+
+    @Transactional(readOnly = true)
+    public long findVersion(int id) {
+        if (!existenceFilters.mightContainEmployee(id)) {
+            throw new EmployeeNotFoundException();
+        }
+        if (cacheService.containsEmployee(id)) {
+            return findById(id).getVersion();
+        }
+        return employeeJpaRepository.findVersionById(id)
+                .orElseThrow(EmployeeNotFoundException::new);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> findFieldsById(int id, List<String> fields) {
+        if (!existenceFilters.mightContainEmployee(id)) {
+            throw new EmployeeNotFoundException();
+        }
+        return fieldProjectionRepository.findEmployeeById(id, fields).orElseThrow(EmployeeNotFoundException::new);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findFields(List<String> fields) {
+        return fieldProjectionRepository.findEmployees(fields, null, Pageable.unpaged());
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findFieldsByPage(int pageNumber, int pageSize, List<String> fields) {
+        return fieldProjectionRepository.findEmployees(fields, null, PageRequest.of(pageNumber, pageSize));
+    }
+
+    @Transactional(readOnly = true)
+    public List<EmployeeSummary> findByGender(Gender gender) {
+        return employeeJpaRepository.findSummariesByGender(gender);
+    }
+
+    @Transactional(readOnly = true)
+    public List<EmployeeSummary> findByPage(int pageNumber, int pageSize) {
+        return employeeJpaRepository.findSummaries(PageRequest.of(pageNumber, pageSize));
     }
 
-    public List<Employee> findByPage(int pageNumber, int pageSize) {
-        return employeeJpaRepository.findAll(PageRequest.of(pageNumber, pageSize)).toList();
+    @Transactional(readOnly = true)
+    public List<EmployeeSummary> findAfter(int lastId, int limit) {
+        return employeeJpaRepository.findSummariesAfter(lastId, PageRequest.of(0, limit));
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<Employee> consumer) {
+        // the session, not the query, decides whether streamed rows are put into the bounded Employee region
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode cacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.IGNORE);
+        try (Stream<Employee> employees = employeeJpaRepository.streamAll()) {
+            employees.forEach(employee -> {
+                consumer.accept(employee);
+                entityManager.detach(employee);
+            });
+        } finally {
+            session.setCacheMode(cacheMode);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<SalaryStatistics> getSalaryStatistics(String groupBy) {
+        switch (groupBy) {
+            case GROUP_BY_NONE:
+                return employeeJpaRepository.findSalaryStatistics();
+            case GROUP_BY_COMPANY:
+                return employeeJpaRepository.findSalaryStatisticsByCompany();
+            case GROUP_BY_GENDER:
+                return employeeJpaRepository.findSalaryStatisticsByGender();
+            case GROUP_BY_COMPANY_AND_GENDER:
+                return employeeJpaRepository.findSalaryStatisticsByCompanyAndGender();
+            default:
+                throw new InvalidGroupingException();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<AgeStatistics> getAgeStatistics(String groupBy) {
+        switch (groupBy) {
+            case GROUP_BY_NONE:
+                return employeeJpaRepository.findAgeStatistics();
+            case GROUP_BY_COMPANY:
+                return employeeJpaRepository.findAgeStatisticsByCompany();
+            case GROUP_BY_GENDER:
+                return employeeJpaRepository.findAgeStatisticsByGender();
+            case GROUP_BY_COMPANY_AND_GENDER:
+                return employeeJpaRepository.findAgeStatisticsByCompanyAndGender();
+            default:
+                throw new InvalidGroupingException();
+        }
+    }
+
+    private void flush() {
+        try {
+            employeeJpaRepository.flush();
+        } catch (ObjectOptimisticLockingFailureException exception) {
+            throw new VersionMismatchException();
+        }
     }
 }
@@ -0,0 +1,85 @@
+package com.rest.springbootemployee.service;
+
+import com.rest.springbootemployee.execption.CompanyNotFoundException;
+import com.rest.springbootemployee.lookup.ExistenceFilters;
+import com.rest.springbootemployee.pojo.Company;
+import com.rest.springbootemployee.pojo.CompanyOverview;
+import com.rest.springbootemployee.pojo.Employee;
+import com.rest.springbootemployee.repository.CompanyR2dbcRepository;
+import com.rest.springbootemployee.repository.EmployeeR2dbcRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Callable;
+
+// written companies are read back through R2DBC: detached entities cannot load their employees
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCompanyService {
+
+    @Autowired
+    private CompanyR2dbcRepository companyR2dbcRepository;
+
+    @Autowired
+    private EmployeeR2dbcRepository employeeR2dbcRepository;
+
+    @Autowired
+    private CompanyService companyService;
+
+    @Autowired
+    private ExistenceFilters existenceFilters;
+
+    public Flux<CompanyOverview> findAllOverviews() {
+        return companyR2dbcRepository.findAllOverviews();
+    }
+
+    public Flux<CompanyOverview> findOverviewsByPage(int pageNumber, int pageSize) {
+        return companyR2dbcRepository.findOverviews(pageNumber, pageSize);
+    }
+
+    public Mono<Company> findById(int id) {
+        if (!existenceFilters.mightContainCompany(id)) {
+            return Mono.error(CompanyNotFoundException::new);
+        }
+        return companyR2dbcRepository.findById(id)
+                .switchIfEmpty(Mono.error(CompanyNotFoundException::new))
+                .zipWith(employeeR2dbcRepository.findAllByCompanyId(id).collectList(), (company, employees) -> {
+                    company.setEmployeeList(employees);
+                    return company;
+                });
+    }
+
+    public Flux<Employee> findEmployeesById(int id) {
+        if (!existenceFilters.mightContainCompany(id)) {
+            return Flux.error(CompanyNotFoundException::new);
+        }
+        return companyR2dbcRepository.findById(id)
+                .switchIfEmpty(Mono.error(CompanyNotFoundException::new))
+                .thenMany(employeeR2dbcRepository.findAllByCompanyId(id));
+    }
+
+    public Mono<Company> create(Company company) {
+        return blocking(() -> companyService.create(company))
+                .flatMap(createdCompany -> findById(createdCompany.getId()));
+    }
+
+    public Mono<Company> update(int id, Company company, Long expectedVersion) {
+        return blocking(() -> companyService.update(id, company, expectedVersion))
+                .flatMap(updatedCompany -> findById(id));
+    }
+
+    public Mono<Void> delete(int id) {
+        return blocking(() -> {
+            companyService.delete(id);
+            return null;
+        }).then();
+    }
+
+    private static <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+}
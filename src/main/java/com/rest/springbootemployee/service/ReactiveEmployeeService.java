@@ -0,0 +1,81 @@
+package com.rest.springbootemployee.service;
+
+import com.rest.springbootemployee.execption.EmployeeNotFoundException;
+import com.rest.springbootemployee.lookup.ExistenceFilters;
+import com.rest.springbootemployee.pojo.Employee;
+import com.rest.springbootemployee.pojo.EmployeeSummary;
+import com.rest.springbootemployee.pojo.Gender;
+import com.rest.springbootemployee.repository.EmployeeR2dbcRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Callable;
+
+// writes go through EmployeeService so the summaries, existence filters and cache keep a single write path
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEmployeeService {
+
+    @Autowired
+    private EmployeeR2dbcRepository employeeR2dbcRepository;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private ExistenceFilters existenceFilters;
+
+    public Flux<EmployeeSummary> findAll() {
+        return employeeR2dbcRepository.findAllSummaries();
+    }
+
+    public Mono<Employee> findById(int id) {
+        if (!existenceFilters.mightContainEmployee(id)) {
+            return Mono.error(EmployeeNotFoundException::new);
+        }
+        return employeeR2dbcRepository.findById(id)
+                .switchIfEmpty(Mono.error(EmployeeNotFoundException::new));
+    }
+
+    public Mono<Long> findVersion(int id) {
+        if (!existenceFilters.mightContainEmployee(id)) {
+            return Mono.error(EmployeeNotFoundException::new);
+        }
+        return employeeR2dbcRepository.findVersionById(id)
+                .switchIfEmpty(Mono.error(EmployeeNotFoundException::new));
+    }
+
+    public Flux<EmployeeSummary> findByGender(Gender gender) {
+        if (gender == null) {
+            return Flux.empty();
+        }
+        return employeeR2dbcRepository.findSummariesByGender(gender);
+    }
+
+    public Flux<EmployeeSummary> findByPage(int pageNumber, int pageSize) {
+        return employeeR2dbcRepository.findSummaries(pageNumber, pageSize);
+    }
+
+    public Mono<Employee> create(Employee employee) {
+        return blocking(() -> employeeService.create(employee));
+    }
+
+    public Mono<Employee> update(int id, Employee toUpdate, Long expectedVersion) {
+        return blocking(() -> employeeService.update(id, toUpdate, expectedVersion));
+    }
+
+    public Mono<Void> delete(int id) {
+        return blocking(() -> {
+            employeeService.delete(id);
+            return null;
+        }).then();
+    }
+
+    private static <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+}
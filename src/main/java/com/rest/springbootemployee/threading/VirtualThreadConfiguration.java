@@ -0,0 +1,74 @@
+package com.rest.springbootemployee.threading;
+
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.Driver;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+
+// needs JDK 21 at runtime
+@Configuration
+@ConditionalOnProperty(name = "virtual-threads.enabled", havingValue = "true")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class VirtualThreadConfiguration {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadConfiguration.class);
+
+    private static final String MYSQL_DRIVER = "com.mysql.cj.jdbc.Driver";
+
+    private static final int FIRST_MYSQL_DRIVER_WITHOUT_PINNING = 9;
+
+    @Value("${virtual-threads.pinned-threshold:PT0.02S}")
+    private Duration pinnedThreshold;
+
+    @Value("${spring.datasource.url:}")
+    private String datasourceUrl;
+
+    private ExecutorService requestExecutor;
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        // not a bean, so Boot still creates its own task executor for @Async and MVC async requests
+        requestExecutor = VirtualThreads.newThreadPerTaskExecutor("http-virtual-");
+        return protocolHandler -> protocolHandler.setExecutor(requestExecutor);
+    }
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor() {
+        return new VirtualThreadPinningMonitor(pinnedThreshold);
+    }
+
+    @PostConstruct
+    public void warnAboutPinningDriver() {
+        if (!datasourceUrl.startsWith("jdbc:mysql:")) {
+            return;
+        }
+        try {
+            Driver driver = (Driver) Class.forName(MYSQL_DRIVER).getDeclaredConstructor().newInstance();
+            if (driver.getMajorVersion() < FIRST_MYSQL_DRIVER_WITHOUT_PINNING) {
+                LOGGER.warn("MySQL Connector/J {}.{} holds monitors during socket I/O, so every JDBC round trip pins its" +
+                                " virtual request thread and concurrency is capped by the carrier threads; use 9.0.0 or later",
+                        driver.getMajorVersion(), driver.getMinorVersion());
+            }
+        } catch (ReflectiveOperationException exception) {
+            LOGGER.warn("Could not check the MySQL driver version for virtual thread pinning", exception);
+        }
+    }
+
+    @PreDestroy
+    public void shutdownRequestExecutor() {
+        if (requestExecutor != null) {
+            requestExecutor.shutdown();
+        }
+    }
+}
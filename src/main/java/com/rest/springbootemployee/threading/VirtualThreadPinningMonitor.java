@@ -0,0 +1,155 @@
+package com.rest.springbootemployee.threading;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// the JFR consumer API is reached reflectively so the code base keeps compiling for Java 8
+public class VirtualThreadPinningMonitor implements MeterBinder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final Duration threshold;
+
+    private final LongAdder pinnedCount = new LongAdder();
+
+    private final LongAdder pinnedNanos = new LongAdder();
+
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+
+    private Jfr jfr;
+
+    private AutoCloseable recordingStream;
+
+    public VirtualThreadPinningMonitor(Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        FunctionTimer.builder("virtual.threads.pinned", this,
+                        monitor -> monitor.pinnedCount.sum(),
+                        monitor -> monitor.pinnedNanos.sum(), TimeUnit.NANOSECONDS)
+                .description("Virtual threads that blocked while pinned to their carrier for longer than the threshold")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        try {
+            jfr = new Jfr();
+            recordingStream = (AutoCloseable) jfr.recordingStream.getConstructor().newInstance();
+            Object eventSettings = jfr.enable.invoke(recordingStream, PINNED_EVENT);
+            jfr.withStackTrace.invoke(jfr.withThreshold.invoke(eventSettings, threshold));
+            Consumer<Object> onPinned = this::record;
+            jfr.onEvent.invoke(recordingStream, PINNED_EVENT, onPinned);
+            jfr.startAsync.invoke(recordingStream);
+        } catch (ReflectiveOperationException exception) {
+            throw new IllegalStateException("Could not stream JFR events on Java " + System.getProperty("java.version"), exception);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws Exception {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    public long getPinnedCount() {
+        return pinnedCount.sum();
+    }
+
+    private void record(Object event) {
+        try {
+            Duration duration = (Duration) jfr.getDuration.invoke(event);
+            pinnedCount.increment();
+            pinnedNanos.add(duration.toNanos());
+            String site = describe(jfr.getStackTrace.invoke(event));
+            if (reportedSites.add(site)) {
+                Object thread = jfr.getThread.invoke(event);
+                LOGGER.warn("Virtual thread {} pinned to its carrier for {} ms at{}", thread == null ? "?"
+                        : jfr.getJavaName.invoke(thread), duration.toMillis(), site);
+            }
+        } catch (ReflectiveOperationException exception) {
+            LOGGER.warn("Could not read a {} event", PINNED_EVENT, exception);
+        }
+    }
+
+    private String describe(Object stackTrace) throws ReflectiveOperationException {
+        if (stackTrace == null) {
+            return " an unknown site";
+        }
+        StringBuilder site = new StringBuilder();
+        for (Object frame : (List<?>) jfr.getFrames.invoke(stackTrace)) {
+            Object method = jfr.getMethod.invoke(frame);
+            site.append(System.lineSeparator()).append("\tat ")
+                    .append(jfr.getClassName.invoke(jfr.getType.invoke(method)))
+                    .append('.').append(jfr.getMethodName.invoke(method))
+                    .append(':').append(jfr.getLineNumber.invoke(frame));
+        }
+        return site.toString();
+    }
+
+    // looked up on the public API types; JFR may hand out inaccessible internal subclasses
+    private static final class Jfr {
+
+        private final Class<?> recordingStream = Class.forName("jdk.jfr.consumer.RecordingStream");
+
+        private final Method enable = recordingStream.getMethod("enable", String.class);
+
+        private final Method onEvent = recordingStream.getMethod("onEvent", String.class, Consumer.class);
+
+        private final Method startAsync = recordingStream.getMethod("startAsync");
+
+        private final Class<?> eventSettings = Class.forName("jdk.jfr.EventSettings");
+
+        private final Method withThreshold = eventSettings.getMethod("withThreshold", Duration.class);
+
+        private final Method withStackTrace = eventSettings.getMethod("withStackTrace");
+
+        private final Class<?> recordedEvent = Class.forName("jdk.jfr.consumer.RecordedEvent");
+
+        private final Method getDuration = recordedEvent.getMethod("getDuration");
+
+        private final Method getStackTrace = recordedEvent.getMethod("getStackTrace");
+
+        private final Method getThread = recordedEvent.getMethod("getThread");
+
+        private final Method getJavaName = Class.forName("jdk.jfr.consumer.RecordedThread").getMethod("getJavaName");
+
+        private final Method getFrames = Class.forName("jdk.jfr.consumer.RecordedStackTrace").getMethod("getFrames");
+
+        private final Class<?> recordedFrame = Class.forName("jdk.jfr.consumer.RecordedFrame");
+
+        private final Method getMethod = recordedFrame.getMethod("getMethod");
+
+        private final Method getLineNumber = recordedFrame.getMethod("getLineNumber");
+
+        private final Class<?> recordedMethod = Class.forName("jdk.jfr.consumer.RecordedMethod");
+
+        private final Method getType = recordedMethod.getMethod("getType");
+
+        private final Method getMethodName = recordedMethod.getMethod("getName");
+
+        private final Method getClassName = Class.forName("jdk.jfr.consumer.RecordedClass").getMethod("getName");
+
+        private Jfr() throws ReflectiveOperationException {
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.rest.springbootemployee.threading;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+// reflective so the code base keeps compiling for Java 8
+public final class VirtualThreads {
+
+    private static final Method OF_VIRTUAL = findMethod(Thread.class, "ofVirtual");
+
+    private static final boolean SUPPORTED = probe();
+
+    private VirtualThreads() {
+    }
+
+    // JDK 19 and 20 only create virtual threads with --enable-preview
+    public static boolean isSupported() {
+        return SUPPORTED;
+    }
+
+    public static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+        if (!SUPPORTED) {
+            throw new IllegalStateException("Virtual threads are not available on Java " + System.getProperty("java.version"));
+        }
+        try {
+            Object builder = OF_VIRTUAL.invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            ThreadFactory threadFactory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, threadFactory);
+        } catch (ReflectiveOperationException exception) {
+            throw new IllegalStateException("Could not create a virtual thread executor", exception);
+        }
+    }
+
+    private static boolean probe() {
+        if (OF_VIRTUAL == null) {
+            return false;
+        }
+        try {
+            OF_VIRTUAL.invoke(null);
+            return true;
+        } catch (InvocationTargetException | IllegalAccessException exception) {
+            return false;
+        }
+    }
+
+    private static Method findMethod(Class<?> type, String name) {
+        try {
+            return type.getMethod(name);
+        } catch (NoSuchMethodException exception) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+-- Also upgrades a schema that Hibernate created from the entities before Flyway, baselined at V0: it has company and
+-- employee with identity ids, no version columns and a foreign key named by Hibernate, and none of the other objects.
+create sequence if not exists employee_seq start with 1 increment by 50;
+
+create table if not exists company (
+    id integer generated by default as identity,
+    company_name varchar(255),
+    version bigint default 0 not null,
+    primary key (id)
+);
+
+create table if not exists company_summary (
+    company_id integer not null,
+    employee_count bigint not null,
+    total_salary bigint not null,
+    primary key (company_id)
+);
+
+create table if not exists employee (
+    id integer not null,
+    age integer,
+    company_id integer,
+    gender varchar(255),
+    name varchar(255),
+    salary integer,
+    version bigint default 0 not null,
+    primary key (id)
+);
+
+alter table company add column if not exists version bigint default 0 not null;
+
+alter table employee add column if not exists version bigint default 0 not null;
+
+-- employee ids come from employee_seq, which V5 moves past the existing ids
+alter table employee alter column id drop identity;
+
+create index if not exists idx_employee_company_id on employee (company_id, id);
+
+alter table employee add constraint if not exists fk_employee_company foreign key (company_id) references company (id);
+
+insert into company_summary (company_id, employee_count, total_salary)
+select company_id, count(*), coalesce(sum(salary), 0) from employee where company_id is not null group by company_id;
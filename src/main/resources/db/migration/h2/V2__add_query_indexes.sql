@@ -0,0 +1,8 @@
+-- findSummariesByGender / findAllByGender: equality on gender, ordered by id, projecting id, name, age, gender
+create index idx_employee_gender on employee (gender, id, name, age);
+
+-- company employee listings and Company.employeeList: equality on company_id, ordered or seeked by id
+create index idx_employee_company_summary on employee (company_id, id, name, age, gender);
+
+-- a prefix of idx_employee_company_summary, which now also backs the foreign key
+drop index if exists idx_employee_company_id;
@@ -0,0 +1,10 @@
+-- Employee ids are allocated 50 at a time (allocationSize), from the fetched sequence value minus 49 up to it.
+-- Rows inserted with explicit ids or before the schema was baselined can be ahead of the sequence, so it is moved
+-- to at least max(id) + 50; a sequence that is already further ahead is left where it is.
+alter sequence employee_seq restart with (
+    select greatest(coalesce(max(id), 0) + 50, (
+        select base_value from information_schema.sequences
+        where sequence_schema = current_schema and sequence_name = 'EMPLOYEE_SEQ'
+    ))
+    from employee
+);
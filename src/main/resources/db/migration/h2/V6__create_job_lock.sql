@@ -0,0 +1,7 @@
+create table job_lock (
+    name varchar(64) not null,
+    locked_until bigint not null,
+    primary key (name)
+);
+
+insert into job_lock (name, locked_until) values ('company-summary-reconcile', 0);
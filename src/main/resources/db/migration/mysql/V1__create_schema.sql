@@ -0,0 +1,79 @@
+-- Also upgrades a schema that Hibernate created from the entities before Flyway, baselined at V0: it has company and
+-- employee with auto-increment ids, no version columns and a foreign key named by Hibernate, and none of the other
+-- tables. MySQL has no "add column if not exists", so those statements are prepared from information_schema.
+create table if not exists company (
+    id integer not null auto_increment,
+    company_name varchar(255),
+    version bigint not null default 0,
+    primary key (id)
+) engine=InnoDB;
+
+create table if not exists company_summary (
+    company_id integer not null,
+    employee_count bigint not null,
+    total_salary bigint not null,
+    primary key (company_id)
+) engine=InnoDB;
+
+create table if not exists employee (
+    id integer not null,
+    age integer,
+    company_id integer,
+    gender varchar(255),
+    name varchar(255),
+    salary integer,
+    version bigint not null default 0,
+    primary key (id)
+) engine=InnoDB;
+
+create table if not exists employee_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into employee_seq (next_val)
+select 1 from dual where not exists (select * from employee_seq);
+
+set @add_company_version = (
+    select if(count(*) = 0, 'alter table company add column version bigint not null default 0', 'do 0')
+    from information_schema.columns
+    where table_schema = database() and table_name = 'company' and column_name = 'version'
+);
+prepare add_company_version from @add_company_version;
+execute add_company_version;
+deallocate prepare add_company_version;
+
+set @add_employee_version = (
+    select if(count(*) = 0, 'alter table employee add column version bigint not null default 0', 'do 0')
+    from information_schema.columns
+    where table_schema = database() and table_name = 'employee' and column_name = 'version'
+);
+prepare add_employee_version from @add_employee_version;
+execute add_employee_version;
+deallocate prepare add_employee_version;
+
+-- employee ids come from employee_seq, which V5 moves past the existing ids
+alter table employee modify id integer not null;
+
+set @add_company_id_index = (
+    select if(count(*) = 0, 'create index idx_employee_company_id on employee (company_id, id)', 'do 0')
+    from information_schema.statistics
+    where table_schema = database() and table_name = 'employee' and index_name = 'idx_employee_company_id'
+);
+prepare add_company_id_index from @add_company_id_index;
+execute add_company_id_index;
+deallocate prepare add_company_id_index;
+
+set @add_company_foreign_key = (
+    select if(count(*) = 0,
+              'alter table employee add constraint fk_employee_company foreign key (company_id) references company (id)',
+              'do 0')
+    from information_schema.key_column_usage
+    where table_schema = database() and table_name = 'employee' and column_name = 'company_id'
+      and referenced_table_name = 'company'
+);
+prepare add_company_foreign_key from @add_company_foreign_key;
+execute add_company_foreign_key;
+deallocate prepare add_company_foreign_key;
+
+insert into company_summary (company_id, employee_count, total_salary)
+select company_id, count(*), coalesce(sum(salary), 0) from employee where company_id is not null group by company_id;
@@ -0,0 +1,15 @@
+-- findSummariesByGender / findAllByGender: equality on gender, ordered by id, projecting id, name, age, gender
+create index idx_employee_gender on employee (gender, id, name, age);
+
+-- company employee listings and Company.employeeList: equality on company_id, ordered or seeked by id
+create index idx_employee_company_summary on employee (company_id, id, name, age, gender);
+
+-- a prefix of idx_employee_company_summary, which now also backs the foreign key; MySQL has no "drop index if exists"
+set @drop_company_id_index = (
+    select if(count(*) > 0, 'drop index idx_employee_company_id on employee', 'do 0')
+    from information_schema.statistics
+    where table_schema = database() and table_name = 'employee' and index_name = 'idx_employee_company_id'
+);
+prepare drop_company_id_index from @drop_company_id_index;
+execute drop_company_id_index;
+deallocate prepare drop_company_id_index;
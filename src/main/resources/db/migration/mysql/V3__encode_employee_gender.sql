@@ -0,0 +1,16 @@
+-- Gender is stored as the ordinal of com.rest.springbootemployee.pojo.Gender: 0 = female, 1 = male.
+-- Spellings differing only in case or surrounding spaces collapse onto one value and blanks become null.
+-- Any other value has no ordinal. The check below fails the migration before anything is changed, so those rows
+-- can be corrected and the migration rerun instead of their gender being lost.
+drop table if exists unmapped_employee_gender;
+create table unmapped_employee_gender (
+    row_count integer not null,
+    constraint employee_gender_must_be_female_or_male check (row_count = 0)
+);
+insert into unmapped_employee_gender
+select count(*) from employee where trim(gender) <> '' and lower(trim(gender)) not in ('female', 'male');
+drop table unmapped_employee_gender;
+
+update employee set gender = case lower(trim(gender)) when 'female' then '0' when 'male' then '1' end;
+
+alter table employee modify gender tinyint;
@@ -0,0 +1,7 @@
+-- Employee ids are allocated 50 at a time (allocationSize), from the fetched next_val minus 49 up to it.
+-- Rows inserted with explicit ids or before the schema was baselined can be ahead of the table, so next_val is moved
+-- to at least max(id) + 50; a next_val that is already further ahead is left where it is.
+insert into employee_seq (next_val)
+select 1 from dual where not exists (select * from employee_seq);
+
+update employee_seq set next_val = greatest(next_val, (select coalesce(max(id), 0) + 50 from employee));
@@ -0,0 +1,47 @@
+package com.rest.springbootemployee.controller;
+
+import com.rest.springbootemployee.pojo.Employee;
+import com.rest.springbootemployee.pojo.Gender;
+import com.rest.springbootemployee.repository.EmployeeJpaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles(profiles = "test")
+public class CacheControllerTest {
+
+    @Autowired
+    MockMvc client;
+
+    @Autowired
+    EmployeeJpaRepository employeeJpaRepository;
+
+    @Test
+    void should_get_region_statistics_when_perform_get_given_cached_employee_read() throws Exception{
+        //given
+        Employee employee = employeeJpaRepository.save(new Employee(null, "Sally", 22, Gender.FEMALE, 10000));
+        client.perform(MockMvcRequestBuilders.get("/employees/{id}", employee.getId()));
+        client.perform(MockMvcRequestBuilders.get("/employees/{id}", employee.getId()));
+
+        //when
+        client.perform(MockMvcRequestBuilders.get("/caches/statistics"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[*].region", hasItems(
+                        "com.rest.springbootemployee.pojo.Employee",
+                        "com.rest.springbootemployee.pojo.Company",
+                        "com.rest.springbootemployee.pojo.Company.employeeList")))
+                .andExpect(MockMvcResultMatchers.jsonPath(
+                        "$[?(@.region == 'com.rest.springbootemployee.pojo.Employee')].hitCount", hasItem(greaterThan(0))))
+                .andExpect(MockMvcResultMatchers.jsonPath(
+                        "$[?(@.region == 'com.rest.springbootemployee.pojo.Employee')].evictionCount", hasItem(greaterThanOrEqualTo(0))));
+    }
+}
@@ -2,23 +2,41 @@ package com.rest.springbootemployee.controller;
 
 import com.rest.springbootemployee.pojo.Company;
 import com.rest.springbootemployee.pojo.Employee;
+import com.rest.springbootemployee.pojo.Gender;
 import com.rest.springbootemployee.repository.CompanyJpaRepository;
+import com.rest.springbootemployee.repository.CompanySummaryDeltaRepository;
 import com.rest.springbootemployee.repository.EmployeeJpaRepository;
+import com.rest.springbootemployee.repository.JobLockRepository;
+import com.rest.springbootemployee.service.CompanySummaryService;
+import com.rest.springbootemployee.service.EmployeeService;
+import com.jayway.jsonpath.JsonPath;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
+import javax.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -37,10 +55,29 @@ class CompanyControllerTest {
     @Autowired
     private EmployeeJpaRepository employeeJpaRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private CompanySummaryService companySummaryService;
+
+    @Autowired
+    private JobLockRepository jobLockRepository;
+
+    @Autowired
+    private CompanySummaryDeltaRepository companySummaryDeltaRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     private Company preparedCompany;
 
     @BeforeEach
     void prepareData(){
+        employeeJpaRepository.deleteAll();
         companyJpaRepository.deleteAll();
         Company company = new Company();
         company.setCompanyName("ABC");
@@ -49,17 +86,17 @@ class CompanyControllerTest {
     }
 
     Employee employeeSally(){
-        Employee employee = new Employee(1, "Sally", 22, "Female", 10000, preparedCompany.getId());
+        Employee employee = new Employee(1, "Sally", 22, Gender.FEMALE, 10000, preparedCompany.getId());
         return employeeJpaRepository.save(employee);
     }
 
     Employee employeeLily(){
-        Employee employee = new Employee(2, "Lily", 26, "Female", 5000, preparedCompany.getId());
+        Employee employee = new Employee(2, "Lily", 26, Gender.FEMALE, 5000, preparedCompany.getId());
         return employeeJpaRepository.save(employee);
     }
 
     Employee employeeTom(){
-        Employee employee = new Employee(3, "Tom", 22, "Male", 8000, preparedCompany.getId());
+        Employee employee = new Employee(3, "Tom", 22, Gender.MALE, 8000, preparedCompany.getId());
         return employeeJpaRepository.save(employee);
     }
     @Test
@@ -100,7 +137,7 @@ class CompanyControllerTest {
                 .andExpect(MockMvcResultMatchers.status().isOk())
                 .andExpect(MockMvcResultMatchers.jsonPath("$[*].name", containsInAnyOrder("Sally","Lily")))
                 .andExpect(MockMvcResultMatchers.jsonPath("$[*].age", containsInAnyOrder(22, 26)))
-                .andExpect(MockMvcResultMatchers.jsonPath("$[*].gender", everyItem(is("Female"))));
+                .andExpect(MockMvcResultMatchers.jsonPath("$[*].gender", everyItem(is("female"))));
     }
 
     @Test
@@ -120,6 +157,167 @@ class CompanyControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].companyName").value("ABC"));
     }
 
+    @Test
+    void should_query_companies_with_constant_statements_when_perform_get_given_many_companies() throws Exception{
+        //given
+        for (int i = 0; i < 5; i++) {
+            Company company = companyJpaRepository.save(new Company(null, "Company" + i, null));
+            employeeJpaRepository.save(new Employee(null, "Sally" + i, 22, Gender.FEMALE, 10000, company.getId()));
+            employeeJpaRepository.save(new Employee(null, "Tom" + i, 22, Gender.MALE, 8000, company.getId()));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        //when
+        statistics.clear();
+        client.perform(MockMvcRequestBuilders.get("/companies").param("expand", "employees"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", hasSize(6)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[5].employeeList", hasSize(2)));
+        long findAllStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        client.perform(MockMvcRequestBuilders.get("/companies")
+                        .param("page", "0").param("pageSize", "4").param("expand", "employees"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", hasSize(4)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[3].employeeList", hasSize(2)));
+        long findByPageStatements = statistics.getPrepareStatementCount();
+
+        //then
+        assertThat(findAllStatements, equalTo(1L));
+        assertThat(findByPageStatements, equalTo(2L));
+    }
+
+    @Test
+    void should_get_company_overviews_with_one_grouped_statement_when_perform_get_given_many_companies() throws Exception{
+        //given
+        for (int i = 0; i < 5; i++) {
+            Company company = companyJpaRepository.save(new Company(null, "Company" + i, null));
+            employeeJpaRepository.save(new Employee(null, "Sally" + i, 22, Gender.FEMALE, 10000, company.getId()));
+            employeeJpaRepository.save(new Employee(null, "Tom" + i, 22, Gender.MALE, 8000, company.getId()));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        //when
+        statistics.clear();
+        client.perform(MockMvcRequestBuilders.get("/companies"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", hasSize(6)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].companyName").value("ABC"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].employeeCount").value(0))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[5].employeeCount").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[5].employeeList").doesNotExist());
+        long findAllStatements = statistics.getPrepareStatementCount();
+
+        //then
+        assertThat(findAllStatements, equalTo(1L));
+        assertThat(statistics.getEntityLoadCount(), equalTo(0L));
+    }
+
+    @Test
+    void should_get_only_requested_fields_when_perform_get_given_fields() throws Exception{
+        //given
+        employeeSally();
+        employeeLily();
+        companyJpaRepository.save(new Company(null, "DEF", null));
+
+        //when
+        client.perform(MockMvcRequestBuilders.get("/companies").param("fields", "companyName,employeeCount"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[*].companyName", contains("ABC", "DEF")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[*].employeeCount", contains(2, 0)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").doesNotExist());
+
+        //then
+        client.perform(MockMvcRequestBuilders.get("/companies/{id}/employees", preparedCompany.getId())
+                        .param("fields", "name"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[*].name", contains("Sally", "Lily")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].age").doesNotExist());
+    }
+
+    @Test
+    void should_get_only_requested_fields_of_page_when_perform_get_company_employees_given_page_and_fields() throws Exception{
+        //given
+        employeeSally();
+        employeeLily();
+
+        //when
+        client.perform(MockMvcRequestBuilders.get("/companies/{id}/employees", preparedCompany.getId())
+                        .param("page", "1").param("pageSize", "1").param("fields", "name"))
+        //then
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[*].name", contains("Lily")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].age").doesNotExist());
+    }
+
+    @Test
+    void should_return_bad_request_when_perform_get_given_fields_with_unsupported_parameter() throws Exception{
+        //when
+        client.perform(MockMvcRequestBuilders.get("/companies")
+                        .param("fields", "id").param("limit", "2"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        client.perform(MockMvcRequestBuilders.get("/companies")
+                        .param("fields", "id").param("expand", "employees"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        client.perform(MockMvcRequestBuilders.get("/companies")
+                        .param("fields", "id").param("page", "0").param("pageSize", "1").param("expand", "employees"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        client.perform(MockMvcRequestBuilders.get("/companies/{id}/employees", preparedCompany.getId())
+                        .param("fields", "name").param("limit", "2"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        client.perform(MockMvcRequestBuilders.get("/companies/{id}/employees", preparedCompany.getId())
+                        .param("fields", "name").param("page", "0").param("pageSize", "1").param("sort", "age"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    void should_get_companies_page_by_page_when_perform_get_given_cursor_and_limit() throws Exception{
+        //given
+        companyJpaRepository.save(new Company(null, "DEF", null));
+        employeeSally();
+
+        //when
+        String firstPage = client.perform(MockMvcRequestBuilders.get("/companies")
+                        .param("limit", "1").param("expand", "employees"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[*].companyName", contains("ABC")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].employeeList[*].name", contains("Sally")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").isString())
+                .andReturn().getResponse().getContentAsString();
+        String nextCursor = JsonPath.read(firstPage, "$.nextCursor");
+
+        //then
+        client.perform(MockMvcRequestBuilders.get("/companies")
+                        .param("after", nextCursor).param("limit", "1"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[*].companyName", contains("DEF")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void should_include_new_employee_when_perform_get_given_cached_company_and_employee_created() throws Exception{
+        //given
+        employeeSally();
+        client.perform(MockMvcRequestBuilders.get("/companies/{id}", preparedCompany.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.employeeList", hasSize(1)));
+        String newEmployeeJson = "{\"name\": \"Lisa\", \"age\": 21, \"gender\": \"female\", \"salary\": 2000, " +
+                "\"companyId\": " + preparedCompany.getId() + "}";
+
+        //when
+        client.perform(MockMvcRequestBuilders.post("/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(newEmployeeJson))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+
+        //then
+        client.perform(MockMvcRequestBuilders.get("/companies/{id}", preparedCompany.getId()))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.employeeList[*].name", containsInAnyOrder("Sally", "Lisa")));
+    }
+
     @Test
     void should_create_a_new_company_when_perform_post_given_a_company() throws Exception{
         //given
@@ -175,4 +373,310 @@ class CompanyControllerTest {
         List<Company> companies = companyJpaRepository.findAll();
         assertThat(companies, hasSize(0));
     }
+
+    @Test
+    void should_delete_company_with_constant_statements_when_perform_delete_given_many_employees() throws Exception {
+        //given
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            employees.add(new Employee(null, "Sally" + i, 22, Gender.FEMALE, 10000, preparedCompany.getId()));
+        }
+        employeeJpaRepository.saveAll(employees);
+        client.perform(MockMvcRequestBuilders.get("/companies/{id}", preparedCompany.getId()))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        //when
+        client.perform(MockMvcRequestBuilders.delete("/companies/{id}", preparedCompany.getId()))
+                .andExpect(MockMvcResultMatchers.status().isNoContent());
+
+        //then
+        assertThat(statistics.getPrepareStatementCount(), equalTo(3L));
+        assertThat(statistics.getEntityLoadCount(), equalTo(0L));
+        assertThat(employeeJpaRepository.findAll(), everyItem(hasProperty("companyId", nullValue())));
+        assertThat(employeeJpaRepository.findAll(), everyItem(hasProperty("version", equalTo(1L))));
+        client.perform(MockMvcRequestBuilders.get("/companies/{id}", preparedCompany.getId()))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    @Test
+    void should_return_not_found_when_perform_delete_given_missing_company() throws Exception {
+        //when
+        client.perform(MockMvcRequestBuilders.delete("/companies/{id}", preparedCompany.getId() + 1))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    @Test
+    void should_get_new_employee_when_perform_get_given_company_read_before_create_commits() throws Exception {
+        //given
+        employeeSally();
+        client.perform(MockMvcRequestBuilders.get("/companies/{id}", preparedCompany.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.employeeList", hasSize(1)));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        //when
+        transactionTemplate.executeWithoutResult(status -> {
+            employeeService.create(new Employee(null, "Lily", 26, Gender.FEMALE, 5000, preparedCompany.getId()));
+            Future<?> read = executor.submit(() -> client.perform(MockMvcRequestBuilders.get("/companies/{id}", preparedCompany.getId()))
+                    .andExpect(MockMvcResultMatchers.jsonPath("$.employeeList", hasSize(1))));
+            try {
+                read.get(10, TimeUnit.SECONDS);
+            } catch (Exception exception) {
+                throw new IllegalStateException(exception);
+            }
+        });
+        executor.shutdown();
+
+        //then
+        client.perform(MockMvcRequestBuilders.get("/companies/{id}", preparedCompany.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.employeeList", hasSize(2)));
+    }
+
+    @Test
+    void should_keep_company_summary_current_when_perform_employee_changes_given_company() throws Exception{
+        //given
+        String sallyJson = "{\"name\": \"Sally\", \"age\": 22, \"gender\": \"female\", \"salary\": 10000, " +
+                "\"companyId\": " + preparedCompany.getId() + "}";
+        String lisaJson = "{\"name\": \"Lisa\", \"age\": 21, \"gender\": \"female\", \"salary\": 2000, " +
+                "\"companyId\": " + preparedCompany.getId() + "}";
+        client.perform(MockMvcRequestBuilders.post("/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(sallyJson))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+        Integer lisaId = JsonPath.read(client.perform(MockMvcRequestBuilders.post("/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(lisaJson))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andReturn().getResponse().getContentAsString(), "$.id");
+
+        //when
+        client.perform(MockMvcRequestBuilders.put("/employees/{id}", lisaId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"salary\": 4000}"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        client.perform(MockMvcRequestBuilders.get("/companies/{id}/summary", preparedCompany.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.employeeCount").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.totalSalary").value(14000))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.averageSalary").value(7000.0));
+        client.perform(MockMvcRequestBuilders.delete("/employees/{id}", lisaId))
+                .andExpect(MockMvcResultMatchers.status().isNoContent());
+
+        //then
+        client.perform(MockMvcRequestBuilders.get("/companies/{id}/summary", preparedCompany.getId()))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.companyId").value(preparedCompany.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.employeeCount").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.totalSalary").value(10000));
+    }
+
+    @Test
+    void should_count_every_employee_when_perform_concurrent_posts_given_company_without_summary() throws Exception{
+        //given
+        int posts = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(posts);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> statuses = new ArrayList<>();
+
+        //when
+        for (int i = 0; i < posts; i++) {
+            String json = "{\"name\": \"Lisa" + i + "\", \"age\": 21, \"gender\": \"female\", \"salary\": 1000, " +
+                    "\"companyId\": " + preparedCompany.getId() + "}";
+            statuses.add(executor.submit(() -> {
+                start.await();
+                return client.perform(MockMvcRequestBuilders.post("/employees")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(json))
+                        .andReturn().getResponse().getStatus();
+            }));
+        }
+        start.countDown();
+        for (Future<Integer> status : statuses) {
+            assertThat(status.get(30, TimeUnit.SECONDS), equalTo(201));
+        }
+        executor.shutdown();
+
+        //then
+        client.perform(MockMvcRequestBuilders.get("/companies/{id}/summary", preparedCompany.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.employeeCount").value(posts))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.totalSalary").value(posts * 1000));
+        client.perform(MockMvcRequestBuilders.post("/companies/summaries/reconcile"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.drifts[?(@.companyId == " + preparedCompany.getId() + ")]", hasSize(0)));
+    }
+
+    @Test
+    void should_rebuild_company_summary_and_report_drift_when_perform_reconcile_given_employees_saved_directly() throws Exception{
+        //given
+        employeeSally();
+        employeeTom();
+
+        //when
+        client.perform(MockMvcRequestBuilders.post("/companies/summaries/reconcile"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.drifts[?(@.companyId == " + preparedCompany.getId() + ")].expectedEmployeeCount", contains(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.drifts[?(@.companyId == " + preparedCompany.getId() + ")].actualEmployeeCount", contains(0)));
+
+        //then
+        client.perform(MockMvcRequestBuilders.get("/companies/{id}/summary", preparedCompany.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.employeeCount").value(2));
+        client.perform(MockMvcRequestBuilders.post("/companies/summaries/reconcile"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.drifts", hasSize(0)));
+    }
+
+    @Test
+    void should_create_employee_of_other_company_when_perform_post_given_company_locked_for_reconcile() throws Exception{
+        //given
+        Company otherCompany = companyJpaRepository.save(new Company(null, "DEF", null));
+        String lisaJson = "{\"name\": \"Lisa\", \"age\": 21, \"gender\": \"female\", \"salary\": 2000, " +
+                "\"companyId\": " + otherCompany.getId() + "}";
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        //when
+        Integer status = transactionTemplate.execute(transaction -> {
+            companySummaryDeltaRepository.findForUpdate(preparedCompany.getId());
+            try {
+                return executor.submit(() -> client.perform(MockMvcRequestBuilders.post("/employees")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(lisaJson))
+                        .andReturn().getResponse().getStatus()).get(5, TimeUnit.SECONDS);
+            } catch (Exception exception) {
+                throw new IllegalStateException(exception);
+            }
+        });
+        executor.shutdown();
+
+        //then
+        assertThat(status, equalTo(201));
+    }
+
+    @Test
+    void should_reconcile_only_when_lock_is_free_when_scheduled_reconcile_given_lock_held_by_another_instance() throws Exception{
+        //given
+        employeeSally();
+        employeeTom();
+        assertThat(jobLockRepository.tryLock("company-summary-reconcile", Duration.ofMinutes(1)), equalTo(true));
+
+        //when
+        companySummaryService.scheduledReconcile();
+        long employeeCountWhileLocked = companySummaryService.findByCompanyId(preparedCompany.getId()).getEmployeeCount();
+        jobLockRepository.unlock("company-summary-reconcile");
+        companySummaryService.scheduledReconcile();
+
+        //then
+        assertThat(employeeCountWhileLocked, equalTo(0L));
+        assertThat(companySummaryService.findByCompanyId(preparedCompany.getId()).getEmployeeCount(), equalTo(2L));
+        assertThat(jobLockRepository.tryLock("company-summary-reconcile", Duration.ofMinutes(1)), equalTo(true));
+        jobLockRepository.unlock("company-summary-reconcile");
+    }
+
+    @Test
+    void should_return_not_modified_without_statements_when_perform_get_given_cached_company_and_current_entity_tag() throws Exception{
+        //given
+        employeeSally();
+        employeeLily();
+        String entityTag = client.perform(MockMvcRequestBuilders.get("/companies/{id}", preparedCompany.getId()))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        //when
+        client.perform(MockMvcRequestBuilders.get("/companies/{id}", preparedCompany.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, entityTag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified());
+
+        //then
+        assertThat(statistics.getPrepareStatementCount(), equalTo(0L));
+    }
+
+    @Test
+    void should_change_entity_tag_when_perform_get_given_employee_added_to_company() throws Exception{
+        //given
+        employeeSally();
+        String entityTag = client.perform(MockMvcRequestBuilders.get("/companies/{id}", preparedCompany.getId()))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        client.perform(MockMvcRequestBuilders.get("/companies/{id}", preparedCompany.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, entityTag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified());
+
+        //when
+        client.perform(MockMvcRequestBuilders.post("/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Lisa\", \"age\": 21, \"gender\": \"female\", \"salary\": 2000, " +
+                                "\"companyId\": " + preparedCompany.getId() + "}"))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+
+        //then
+        client.perform(MockMvcRequestBuilders.get("/companies/{id}", preparedCompany.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, entityTag))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.employeeList", hasSize(2)));
+        client.perform(MockMvcRequestBuilders.put("/companies/{id}", preparedCompany.getId())
+                        .header(HttpHeaders.IF_MATCH, entityTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"companyName\": \"DEF\"}"))
+                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+    }
+
+    @Test
+    void should_get_sorted_employee_page_when_perform_get_given_company_id_page_and_sort() throws Exception{
+        //given
+        employeeSally();
+        employeeLily();
+        employeeTom();
+
+        //when
+        client.perform(MockMvcRequestBuilders.get("/companies/{id}/employees", preparedCompany.getId())
+                        .param("page", "0").param("pageSize", "2").param("sort", "age,desc"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[*].name", contains("Lily", "Sally")));
+        client.perform(MockMvcRequestBuilders.get("/companies/{id}/employees", preparedCompany.getId())
+                        .param("page", "0").param("pageSize", "2").param("sort", "salary"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        //then
+    }
+
+    @Test
+    void should_get_employees_page_by_page_when_perform_get_given_company_id_and_cursor() throws Exception{
+        //given
+        employeeSally();
+        employeeLily();
+        employeeTom();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        //when
+        String firstPage = client.perform(MockMvcRequestBuilders.get("/companies/{id}/employees", preparedCompany.getId())
+                        .param("limit", "2"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content", hasSize(2)))
+                .andReturn().getResponse().getContentAsString();
+        String nextCursor = JsonPath.read(firstPage, "$.nextCursor");
+
+        //then
+        client.perform(MockMvcRequestBuilders.get("/companies/{id}/employees", preparedCompany.getId())
+                        .param("after", nextCursor).param("limit", "2"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content", hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").doesNotExist());
+        assertThat(statistics.getEntityLoadCount(), equalTo(0L));
+        assertThat(statistics.getCollectionLoadCount(), equalTo(0L));
+        client.perform(MockMvcRequestBuilders.get("/companies/{id}/employees", Integer.MAX_VALUE)
+                        .param("limit", "2"))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    @Test
+    void should_return_bad_request_when_perform_get_given_limit_out_of_range() throws Exception{
+        //when
+        client.perform(MockMvcRequestBuilders.get("/companies")
+                        .param("limit","0"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        client.perform(MockMvcRequestBuilders.get("/companies")
+                        .param("limit","0").param("expand", "employees"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        client.perform(MockMvcRequestBuilders.get("/companies/{id}/employees", preparedCompany.getId())
+                        .param("limit","1001"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
 }
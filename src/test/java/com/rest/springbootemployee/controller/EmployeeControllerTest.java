@@ -1,19 +1,28 @@
 package com.rest.springbootemployee.controller;
 
+import com.rest.springbootemployee.pojo.Company;
 import com.rest.springbootemployee.pojo.Employee;
+import com.rest.springbootemployee.pojo.Gender;
+import com.rest.springbootemployee.repository.CompanyJpaRepository;
 import com.rest.springbootemployee.repository.EmployeeJpaRepository;
+import com.jayway.jsonpath.JsonPath;
 import org.hamcrest.Matchers;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import javax.persistence.EntityManagerFactory;
+import java.util.Collections;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -32,6 +41,12 @@ public class EmployeeControllerTest {
     @Autowired
     EmployeeJpaRepository employeeJpaRepository;
 
+    @Autowired
+    CompanyJpaRepository companyJpaRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
     @BeforeEach
     void prepareData(){
         employeeJpaRepository.deleteAll();
@@ -40,7 +55,7 @@ public class EmployeeControllerTest {
     @Test
     void should_get_all_employee_when_perform_get_given_employees() throws Exception{
         //given
-        employeeJpaRepository.save(new Employee(1, "Sally", 22, "female", 10000));
+        employeeJpaRepository.save(new Employee(1, "Sally", 22, Gender.FEMALE, 10000));
 
         //when
         client.perform(MockMvcRequestBuilders.get("/employees"))
@@ -80,14 +95,14 @@ public class EmployeeControllerTest {
         assertThat(employees, hasSize(1));
         assertThat(employees.get(0).getName(), equalTo("Lisa"));
         assertThat(employees.get(0).getAge(), equalTo(21));
-        assertThat(employees.get(0).getGender(), equalTo("female"));
+        assertThat(employees.get(0).getGender(), equalTo(Gender.FEMALE));
         assertThat(employees.get(0).getSalary(), equalTo(2000));
     }
 
     @Test
     void should_update_employee_when_perform_put_given_a_new_employee() throws Exception {
         //given
-        Employee employee = employeeJpaRepository.save(new Employee(0, "Lisa", 22, "female", 10000));
+        Employee employee = employeeJpaRepository.save(new Employee(0, "Lisa", 22, Gender.FEMALE, 10000));
         String updateEmployeeJson ="{\n" +
                 "        \"name\": \"Lisa\",\n" +
                 "        \"age\": 66,\n" +
@@ -110,14 +125,14 @@ public class EmployeeControllerTest {
         assertThat(employees, hasSize(1));
         assertThat(employees.get(0).getName(), equalTo("Lisa"));
         assertThat(employees.get(0).getAge(), equalTo(66));
-        assertThat(employees.get(0).getGender(), equalTo("female"));
+        assertThat(employees.get(0).getGender(), equalTo(Gender.FEMALE));
         assertThat(employees.get(0).getSalary(), equalTo(2000));
     }
 
     @Test
     void should_delete_employee_when_perform_delete_given_a_employee() throws Exception {
         //given
-        Employee employee = employeeJpaRepository.save(new Employee(0, "Lisa", 22, "female", 10000));
+        Employee employee = employeeJpaRepository.save(new Employee(0, "Lisa", 22, Gender.FEMALE, 10000));
 
         //when
         client.perform(MockMvcRequestBuilders.delete("/employees/{id}",employee.getId()))
@@ -128,10 +143,22 @@ public class EmployeeControllerTest {
         assertThat(employees, hasSize(0));
     }
 
+    @Test
+    void should_return_not_found_when_perform_put_and_delete_given_missing_employee() throws Exception {
+        //when
+        client.perform(MockMvcRequestBuilders.put("/employees/{id}", 99999)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"age\": 30}"))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+        client.perform(MockMvcRequestBuilders.delete("/employees/{id}", 99999))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+        //then
+    }
+
     @Test
     void should_get_a_employee_when_perform_get_given_id() throws Exception{
         //given
-        Employee employee = employeeJpaRepository.save(new Employee(0, "Sally", 22, "female", 10000));
+        Employee employee = employeeJpaRepository.save(new Employee(0, "Sally", 22, Gender.FEMALE, 10000));
 
         //when
         client.perform(MockMvcRequestBuilders.get("/employees/{id}",employee.getId()))
@@ -146,7 +173,7 @@ public class EmployeeControllerTest {
     @Test
     void should_get_employees_when_perform_get_given_gender() throws Exception{
         //given
-        employeeJpaRepository.save(new Employee(0, "Sally", 22, "female", 10000));
+        employeeJpaRepository.save(new Employee(0, "Sally", 22, Gender.FEMALE, 10000));
 
         //when
         client.perform(MockMvcRequestBuilders.get("/employees")
@@ -159,12 +186,35 @@ public class EmployeeControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].salary").doesNotExist());
     }
 
+    @Test
+    void should_normalize_gender_when_perform_post_and_get_given_mixed_case_gender() throws Exception{
+        //given
+        client.perform(MockMvcRequestBuilders.post("/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Sally\", \"age\": 22, \"gender\": \" Female \", \"salary\": 10000}"))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.gender").value("female"));
+
+        //when
+        client.perform(MockMvcRequestBuilders.get("/employees")
+                        .param("gender","FEMALE"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[*].name", contains("Sally")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].gender").value("female"));
+
+        //then
+        client.perform(MockMvcRequestBuilders.post("/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Tom\", \"age\": 22, \"gender\": \"unknown\", \"salary\": 10000}"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
     @Test
     void should_get_employees_when_perform_get_given_page_and_page_size() throws Exception{
         //given
-        employeeJpaRepository.save(new Employee(null, "Sally", 22, "female", 10000));
-        employeeJpaRepository.save(new Employee(null, "Lily", 25, "female", 16000));
-        employeeJpaRepository.save(new Employee(null, "Tom", 25, "male", 16000));
+        employeeJpaRepository.save(new Employee(null, "Sally", 22, Gender.FEMALE, 10000));
+        employeeJpaRepository.save(new Employee(null, "Lily", 25, Gender.FEMALE, 16000));
+        employeeJpaRepository.save(new Employee(null, "Tom", 25, Gender.MALE, 16000));
 
         //when
         client.perform(MockMvcRequestBuilders.get("/employees")
@@ -175,4 +225,521 @@ public class EmployeeControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$[*].age", containsInAnyOrder(22, 25)))
                 .andExpect(MockMvcResultMatchers.jsonPath("$[*].gender", everyItem(is("female"))));
     }
+
+    @Test
+    void should_get_employees_page_by_page_when_perform_get_given_cursor_and_limit() throws Exception{
+        //given
+        employeeJpaRepository.save(new Employee(null, "Sally", 22, Gender.FEMALE, 10000));
+        employeeJpaRepository.save(new Employee(null, "Lily", 25, Gender.FEMALE, 16000));
+        employeeJpaRepository.save(new Employee(null, "Tom", 25, Gender.MALE, 16000));
+
+        //when
+        String firstPage = client.perform(MockMvcRequestBuilders.get("/employees")
+                        .param("limit","2"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[*].name", contains("Sally","Lily")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").isString())
+                .andReturn().getResponse().getContentAsString();
+        String nextCursor = JsonPath.read(firstPage, "$.nextCursor");
+
+        //then
+        client.perform(MockMvcRequestBuilders.get("/employees")
+                        .param("after", nextCursor).param("limit","2"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[*].name", contains("Tom")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void should_get_only_requested_fields_when_perform_get_given_page_and_fields() throws Exception{
+        //given
+        employeeJpaRepository.save(new Employee(null, "Sally", 22, Gender.FEMALE, 10000));
+        employeeJpaRepository.save(new Employee(null, "Lily", 25, Gender.FEMALE, 16000));
+        Employee tom = employeeJpaRepository.save(new Employee(null, "Tom", 25, Gender.MALE, 16000));
+
+        //when
+        client.perform(MockMvcRequestBuilders.get("/employees")
+                        .param("page","0").param("pageSize","2").param("fields", "id,name"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[*].name", contains("Sally","Lily")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").isNumber())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].age").doesNotExist())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].gender").doesNotExist());
+
+        //then
+        client.perform(MockMvcRequestBuilders.get("/employees/{id}", tom.getId()).param("fields", "name"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.name").value("Tom"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.id").doesNotExist());
+    }
+
+    @Test
+    void should_return_bad_request_when_perform_get_given_unknown_field() throws Exception{
+        //when
+        client.perform(MockMvcRequestBuilders.get("/employees")
+                        .param("fields","id,salary"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    void should_return_bad_request_when_perform_get_given_fields_with_unsupported_parameter() throws Exception{
+        //when
+        client.perform(MockMvcRequestBuilders.get("/employees")
+                        .param("fields","name").param("gender","female"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        client.perform(MockMvcRequestBuilders.get("/employees")
+                        .param("fields","name").param("ids","1"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        client.perform(MockMvcRequestBuilders.get("/employees")
+                        .param("fields","name").param("limit","2"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    void should_return_bad_request_when_perform_get_given_invalid_cursor() throws Exception{
+        //when
+        client.perform(MockMvcRequestBuilders.get("/employees")
+                        .param("after","not-a-cursor").param("limit","2"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    void should_return_bad_request_when_perform_get_given_limit_out_of_range() throws Exception{
+        //when
+        client.perform(MockMvcRequestBuilders.get("/employees")
+                        .param("limit","0"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        client.perform(MockMvcRequestBuilders.get("/employees")
+                        .param("limit","-1"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        client.perform(MockMvcRequestBuilders.get("/employees")
+                        .param("limit","1001"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    void should_export_employees_as_ndjson_when_perform_get_export_given_employees() throws Exception{
+        //given
+        Employee sally = employeeJpaRepository.save(new Employee(null, "Sally", 22, Gender.FEMALE, 10000));
+        employeeJpaRepository.save(new Employee(null, "Tom", 25, Gender.MALE, 16000));
+        entityManagerFactory.getCache().evict(Employee.class);
+
+        //when
+        String content = client.perform(MockMvcRequestBuilders.get("/employees/export"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        //then
+        String[] lines = content.split("\n");
+        assertThat(lines.length, equalTo(2));
+        assertThat(JsonPath.read(lines[0], "$.name"), equalTo("Sally"));
+        assertThat(JsonPath.read(lines[1], "$.name"), equalTo("Tom"));
+        assertThat(lines[0], not(containsString("salary")));
+        assertThat(content, endsWith("}\n"));
+        assertThat(entityManagerFactory.getCache().contains(Employee.class, sally.getId()), equalTo(false));
+    }
+
+    @Test
+    void should_export_empty_body_when_perform_get_export_given_no_employees() throws Exception{
+        //when
+        client.perform(MockMvcRequestBuilders.get("/employees/export"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().string(""));
+    }
+
+    @Test
+    void should_create_employees_in_chunks_when_perform_post_bulk_given_json_array() throws Exception {
+        //given
+        String newEmployeesJson = "[" +
+                "{\"name\": \"Lisa\", \"age\": 21, \"gender\": \"female\", \"salary\": 2000}," +
+                "{\"name\": \"Tom\", \"age\": 23, \"gender\": \"male\", \"salary\": 3000}," +
+                "{\"name\": \"Lily\", \"age\": 25, \"gender\": \"female\", \"salary\": 4000}" +
+                "]";
+
+        //when
+        client.perform(MockMvcRequestBuilders.post("/employees/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(newEmployeesJson))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.created").value(3))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.failures", hasSize(0)));
+
+        //then
+        List<Employee> employees = employeeJpaRepository.findAll();
+        assertThat(employees, hasSize(3));
+        assertThat(employees.get(2).getSalary(), equalTo(4000));
+    }
+
+    @Test
+    void should_report_failed_chunk_when_perform_post_bulk_given_ndjson_with_invalid_employee() throws Exception {
+        //given
+        String tooLongName = String.join("", Collections.nCopies(300, "a"));
+        String newEmployeesNdjson =
+                "{\"name\": \"Lisa\", \"age\": 21, \"gender\": \"female\", \"salary\": 2000}\n" +
+                "{\"name\": \"Tom\", \"age\": 23, \"gender\": \"male\", \"salary\": 3000}\n" +
+                "{\"name\": \"" + tooLongName + "\", \"age\": 25, \"gender\": \"female\", \"salary\": 4000}\n";
+
+        //when
+        client.perform(MockMvcRequestBuilders.post("/employees/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(newEmployeesNdjson))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.created").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.failures", hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.failures[0].fromIndex").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.failures[0].toIndex").value(3));
+
+        //then
+        List<Employee> employees = employeeJpaRepository.findAll();
+        assertThat(employees, hasSize(2));
+    }
+
+    @Test
+    void should_report_failed_chunk_and_keep_going_when_perform_post_bulk_given_malformed_third_line() throws Exception {
+        //given
+        String newEmployeesNdjson =
+                "{\"name\": \"Lisa\", \"age\": 21, \"gender\": \"female\", \"salary\": 2000}\n" +
+                "{\"name\": \"Tom\", \"age\": 23, \"gender\": \"male\", \"salary\": 3000}\n" +
+                "{\"name\": \"Lily\", \"age\": \n" +
+                "{\"name\": \"Sam\", \"age\": 24, \"gender\": \"male\", \"salary\": 3500}\n" +
+                "{\"name\": \"Amy\", \"age\": 27, \"gender\": \"female\", \"salary\": 4500}\n";
+
+        //when
+        client.perform(MockMvcRequestBuilders.post("/employees/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(newEmployeesNdjson))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.created").value(3))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.failures", hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.failures[0].fromIndex").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.failures[0].toIndex").value(4));
+
+        //then
+        List<Employee> employees = employeeJpaRepository.findAll();
+        assertThat(employees, hasSize(3));
+        assertThat(employees.get(2).getName(), equalTo("Amy"));
+    }
+
+    @Test
+    void should_report_failed_chunk_when_perform_post_bulk_given_json_array_with_unknown_gender() throws Exception {
+        //given
+        String newEmployeesJson = "[" +
+                "{\"name\": \"Lisa\", \"age\": 21, \"gender\": \"female\", \"salary\": 2000}," +
+                "{\"name\": \"Tom\", \"age\": 23, \"gender\": \"male\", \"salary\": 3000}," +
+                "{\"name\": \"Lily\", \"age\": 25, \"gender\": \"unknown\", \"salary\": 4000}" +
+                "]";
+
+        //when
+        client.perform(MockMvcRequestBuilders.post("/employees/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(newEmployeesJson))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.created").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.failures[0].fromIndex").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.failures[0].message").value("InvalidGenderException"));
+
+        //then
+        assertThat(employeeJpaRepository.findAll(), hasSize(2));
+    }
+
+    @Test
+    void should_get_employee_from_cache_and_see_update_when_perform_get_given_cached_employee() throws Exception{
+        //given
+        Employee employee = employeeJpaRepository.save(new Employee(null, "Sally", 22, Gender.FEMALE, 10000));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        client.perform(MockMvcRequestBuilders.get("/employees/{id}", employee.getId()))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        //when
+        statistics.clear();
+        client.perform(MockMvcRequestBuilders.get("/employees/{id}", employee.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.age").value(22));
+        long cachedStatements = statistics.getPrepareStatementCount();
+        client.perform(MockMvcRequestBuilders.put("/employees/{id}", employee.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"age\": 30}"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        //then
+        assertThat(cachedStatements, equalTo(0L));
+        client.perform(MockMvcRequestBuilders.get("/employees/{id}", employee.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.age").value(30));
+    }
+
+    @Test
+    void should_update_one_row_and_keep_other_cache_entries_when_perform_put_given_cached_employees() throws Exception{
+        //given
+        Employee sally = employeeJpaRepository.save(new Employee(null, "Sally", 22, Gender.FEMALE, 10000));
+        Employee tom = employeeJpaRepository.save(new Employee(null, "Tom", 25, Gender.MALE, 8000));
+        client.perform(MockMvcRequestBuilders.get("/employees/{id}", sally.getId()))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        client.perform(MockMvcRequestBuilders.get("/employees/{id}", tom.getId()))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        //when
+        client.perform(MockMvcRequestBuilders.put("/employees/{id}", sally.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"age\": 30}"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        //then
+        assertThat(statistics.getPrepareStatementCount(), equalTo(1L));
+        assertThat(entityManagerFactory.getCache().contains(Employee.class, tom.getId()), equalTo(true));
+        assertThat(entityManagerFactory.getCache().contains(Employee.class, sally.getId()), equalTo(true));
+    }
+
+    @Test
+    void should_get_salary_statistics_when_perform_get_given_group_by_company_and_gender() throws Exception{
+        //given
+        Integer firstCompanyId = companyJpaRepository.save(new Company(null, "ABC", null)).getId();
+        Integer secondCompanyId = companyJpaRepository.save(new Company(null, "DEF", null)).getId();
+        employeeJpaRepository.save(new Employee(null, "Sally", 22, Gender.FEMALE, 10000, firstCompanyId));
+        employeeJpaRepository.save(new Employee(null, "Lily", 24, Gender.FEMALE, 6000, firstCompanyId));
+        employeeJpaRepository.save(new Employee(null, "Tom", 30, Gender.MALE, 8000, firstCompanyId));
+        employeeJpaRepository.save(new Employee(null, "Jack", 30, Gender.MALE, 5000, secondCompanyId));
+
+        //when
+        client.perform(MockMvcRequestBuilders.get("/employees/statistics/salary")
+                        .param("groupBy", "company,gender"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", hasSize(3)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].companyId").value(firstCompanyId))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].gender").value("female"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].headcount").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].minSalary").value(6000))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].maxSalary").value(10000))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].averageSalary").value(8000.0))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].totalSalary").value(16000))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[2].companyId").value(secondCompanyId))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[2].headcount").value(1));
+        //then
+    }
+
+    @Test
+    void should_get_age_distribution_when_perform_get_given_group_by_gender() throws Exception{
+        //given
+        employeeJpaRepository.save(new Employee(null, "Sally", 22, Gender.FEMALE, 10000));
+        employeeJpaRepository.save(new Employee(null, "Tom", 30, Gender.MALE, 8000));
+        employeeJpaRepository.save(new Employee(null, "Jack", 30, Gender.MALE, 5000));
+
+        //when
+        client.perform(MockMvcRequestBuilders.get("/employees/statistics/age")
+                        .param("groupBy", "gender"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", hasSize(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].gender").value("male"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].age").value(30))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].headcount").value(2));
+        //then
+    }
+
+    @Test
+    void should_get_salary_statistics_when_perform_get_given_each_group_by() throws Exception{
+        //given
+        Integer companyId = prepareStatisticsEmployees();
+
+        //when
+        client.perform(MockMvcRequestBuilders.get("/employees/statistics/salary")
+                        .param("groupBy", "none"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].companyId").doesNotExist())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].headcount").value(3))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].totalSalary").value(23000));
+        client.perform(MockMvcRequestBuilders.get("/employees/statistics/salary")
+                        .param("groupBy", "company"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", hasSize(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].companyId").value(companyId))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].totalSalary").value(18000));
+        client.perform(MockMvcRequestBuilders.get("/employees/statistics/salary")
+                        .param("groupBy", "gender"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", hasSize(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].gender").value("male"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].totalSalary").value(13000));
+        client.perform(MockMvcRequestBuilders.get("/employees/statistics/salary")
+                        .param("groupBy", "company,gender"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", hasSize(3)));
+        //then
+    }
+
+    @Test
+    void should_get_age_distribution_when_perform_get_given_each_group_by() throws Exception{
+        //given
+        Integer companyId = prepareStatisticsEmployees();
+
+        //when
+        client.perform(MockMvcRequestBuilders.get("/employees/statistics/age")
+                        .param("groupBy", "none"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", hasSize(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].age").value(30))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].headcount").value(2));
+        client.perform(MockMvcRequestBuilders.get("/employees/statistics/age")
+                        .param("groupBy", "company"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", hasSize(3)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].companyId").value(companyId))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].age").value(22));
+        client.perform(MockMvcRequestBuilders.get("/employees/statistics/age")
+                        .param("groupBy", "gender"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", hasSize(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].headcount").value(2));
+        client.perform(MockMvcRequestBuilders.get("/employees/statistics/age")
+                        .param("groupBy", "company,gender"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", hasSize(3)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].companyId").value(companyId))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].gender").value("male"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].age").value(30));
+        //then
+    }
+
+    @Test
+    void should_return_bad_request_when_perform_get_statistics_given_invalid_group_by() throws Exception{
+        //when
+        client.perform(MockMvcRequestBuilders.get("/employees/statistics/salary")
+                        .param("groupBy", "salary"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        //then
+    }
+
+    @Test
+    void should_return_not_modified_when_perform_get_given_current_entity_tag() throws Exception{
+        //given
+        Employee employee = employeeJpaRepository.save(new Employee(null, "Sally", 22, Gender.FEMALE, 10000));
+        String entityTag = client.perform(MockMvcRequestBuilders.get("/employees/{id}", employee.getId()))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        //when
+        client.perform(MockMvcRequestBuilders.get("/employees/{id}", employee.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, entityTag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.content().string(""));
+        client.perform(MockMvcRequestBuilders.put("/employees/{id}", employee.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"age\": 30}"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        //then
+        client.perform(MockMvcRequestBuilders.get("/employees/{id}", employee.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, entityTag))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, not(entityTag)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.age").value(30));
+    }
+
+    @Test
+    void should_return_not_modified_without_statements_when_perform_get_given_cached_employee_and_current_entity_tag() throws Exception{
+        //given
+        Employee employee = employeeJpaRepository.save(new Employee(null, "Sally", 22, Gender.FEMALE, 10000));
+        String entityTag = client.perform(MockMvcRequestBuilders.get("/employees/{id}", employee.getId()))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        //when
+        client.perform(MockMvcRequestBuilders.get("/employees/{id}", employee.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, entityTag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified());
+
+        //then
+        assertThat(statistics.getPrepareStatementCount(), equalTo(0L));
+    }
+
+    @Test
+    void should_return_precondition_failed_when_perform_put_given_stale_if_match() throws Exception{
+        //given
+        Employee employee = employeeJpaRepository.save(new Employee(null, "Sally", 22, Gender.FEMALE, 10000));
+        String entityTag = client.perform(MockMvcRequestBuilders.get("/employees/{id}", employee.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String newEntityTag = client.perform(MockMvcRequestBuilders.put("/employees/{id}", employee.getId())
+                        .header(HttpHeaders.IF_MATCH, entityTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"age\": 30}"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        //when
+        client.perform(MockMvcRequestBuilders.put("/employees/{id}", employee.getId())
+                        .header(HttpHeaders.IF_MATCH, entityTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"age\": 40}"))
+                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+
+        //then
+        assertThat(newEntityTag, not(equalTo(entityTag)));
+        assertThat(employeeJpaRepository.findById(employee.getId()).get().getAge(), equalTo(30));
+    }
+
+    @Test
+    void should_return_not_found_without_sql_when_perform_get_given_deleted_employee() throws Exception{
+        //given
+        Employee employee = employeeJpaRepository.save(new Employee(null, "Sally", 22, Gender.FEMALE, 10000));
+        client.perform(MockMvcRequestBuilders.delete("/employees/{id}", employee.getId()))
+                .andExpect(MockMvcResultMatchers.status().isNoContent());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        //when
+        client.perform(MockMvcRequestBuilders.get("/employees/{id}", employee.getId()))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+        client.perform(MockMvcRequestBuilders.get("/employees/{id}", Integer.MAX_VALUE))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+
+        //then
+        assertThat(statistics.getPrepareStatementCount(), equalTo(0L));
+    }
+
+    @Test
+    void should_get_employees_in_request_order_and_report_missing_when_perform_get_given_ids() throws Exception{
+        //given
+        Employee sally = employeeJpaRepository.save(new Employee(null, "Sally", 22, Gender.FEMALE, 10000));
+        Employee tom = employeeJpaRepository.save(new Employee(null, "Tom", 23, Gender.MALE, 8000));
+        Employee lily = employeeJpaRepository.save(new Employee(null, "Lily", 24, Gender.FEMALE, 9000));
+        String ids = lily.getId() + "," + Integer.MAX_VALUE + "," + sally.getId() + "," + tom.getId() + "," + sally.getId();
+
+        //when
+        client.perform(MockMvcRequestBuilders.get("/employees").param("ids", ids))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[*].name", contains("Lily", "Sally", "Tom")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.missingIds", contains(Integer.MAX_VALUE)));
+        //then
+    }
+
+    @Test
+    void should_get_employees_when_perform_post_by_ids_given_ids() throws Exception{
+        //given
+        Employee sally = employeeJpaRepository.save(new Employee(null, "Sally", 22, Gender.FEMALE, 10000));
+        Employee tom = employeeJpaRepository.save(new Employee(null, "Tom", 23, Gender.MALE, 8000));
+        client.perform(MockMvcRequestBuilders.get("/employees/{id}", tom.getId()))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        //when
+        client.perform(MockMvcRequestBuilders.post("/employees/by-ids")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + tom.getId() + ", " + sally.getId() + ", 0]"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[*].name", contains("Tom", "Sally")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.missingIds", contains(0)));
+        //then
+    }
+
+    private Integer prepareStatisticsEmployees() {
+        Integer firstCompanyId = companyJpaRepository.save(new Company(null, "ABC", null)).getId();
+        Integer secondCompanyId = companyJpaRepository.save(new Company(null, "DEF", null)).getId();
+        employeeJpaRepository.save(new Employee(null, "Sally", 22, Gender.FEMALE, 10000, firstCompanyId));
+        employeeJpaRepository.save(new Employee(null, "Tom", 30, Gender.MALE, 8000, firstCompanyId));
+        employeeJpaRepository.save(new Employee(null, "Jack", 30, Gender.MALE, 5000, secondCompanyId));
+        return firstCompanyId;
+    }
 }
@@ -0,0 +1,133 @@
+package com.rest.springbootemployee.controller;
+
+import com.rest.springbootemployee.controller.dto.CompanyResponse;
+import com.rest.springbootemployee.pojo.Company;
+import com.rest.springbootemployee.pojo.Employee;
+import com.rest.springbootemployee.pojo.Gender;
+import com.rest.springbootemployee.repository.CompanyJpaRepository;
+import com.rest.springbootemployee.repository.EmployeeJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.hamcrest.Matchers.contains;
+
+@SpringBootTest(properties = "spring.main.web-application-type=reactive")
+@AutoConfigureWebTestClient
+@ActiveProfiles(profiles = {"test", "reactive"})
+public class ReactiveCompanyControllerTest {
+
+    @Autowired
+    WebTestClient client;
+
+    @Autowired
+    CompanyJpaRepository companyJpaRepository;
+
+    @Autowired
+    EmployeeJpaRepository employeeJpaRepository;
+
+    @BeforeEach
+    void prepareData(){
+        employeeJpaRepository.deleteAll();
+        companyJpaRepository.deleteAll();
+    }
+
+    @Test
+    void should_get_company_overviews_when_get_given_companies() {
+        //given
+        Company oocl = companyJpaRepository.save(new Company(null, "OOCL", null));
+        companyJpaRepository.save(new Company(null, "COSCO", null));
+        employeeJpaRepository.save(new Employee(null, "Sally", 22, Gender.FEMALE, 10000, oocl.getId()));
+        employeeJpaRepository.save(new Employee(null, "Tom", 23, Gender.MALE, 9000, oocl.getId()));
+
+        //when
+        client.get().uri("/companies").exchange()
+        //then
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[*].companyName").value(contains("OOCL", "COSCO"))
+                .jsonPath("$[*].employeeCount").value(contains(2, 0));
+        client.get().uri("/companies?page=1&pageSize=1").exchange()
+                .expectBody()
+                .jsonPath("$[*].companyName").value(contains("COSCO"));
+    }
+
+    @Test
+    void should_get_company_with_employees_when_get_by_id_given_company() {
+        //given
+        Company oocl = companyJpaRepository.save(new Company(null, "OOCL", null));
+        employeeJpaRepository.save(new Employee(null, "Sally", 22, Gender.FEMALE, 10000, oocl.getId()));
+
+        //when
+        client.get().uri("/companies/{id}", oocl.getId()).exchange()
+        //then
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody()
+                .jsonPath("$.companyName").isEqualTo("OOCL")
+                .jsonPath("$.employeeList[0].name").isEqualTo("Sally");
+        client.get().uri("/companies/{id}/employees", oocl.getId()).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[*].name").value(contains("Sally"));
+    }
+
+    @Test
+    void should_return_bad_request_when_get_given_parameters_served_only_by_servlet_stack() {
+        //given
+        Company oocl = companyJpaRepository.save(new Company(null, "OOCL", null));
+
+        //when
+        client.get().uri("/companies?expand=employees").exchange()
+        //then
+                .expectStatus().isBadRequest();
+        client.get().uri("/companies?limit=1").exchange()
+                .expectStatus().isBadRequest();
+        client.get().uri("/companies/{id}/employees?limit=1", oocl.getId()).exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void should_return_404_when_get_employees_given_not_existing_company() {
+        //when
+        client.get().uri("/companies/{id}/employees", 99).exchange()
+        //then
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.errorMessage").isEqualTo("CompanyNotFoundException");
+    }
+
+    @Test
+    void should_reject_update_when_put_given_stale_entity_tag() {
+        //given
+        CompanyResponse created = client.post().uri("/companies")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"companyName\": \"OOCL\"}")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(CompanyResponse.class)
+                .returnResult().getResponseBody();
+        String entityTag = client.put().uri("/companies/{id}", created.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"companyName\": \"COSCO\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.companyName").isEqualTo("COSCO")
+                .returnResult().getResponseHeaders().getETag();
+        employeeJpaRepository.save(new Employee(null, "Sally", 22, Gender.FEMALE, 10000, created.getId()));
+
+        //when
+        client.put().uri("/companies/{id}", created.getId())
+                .header(HttpHeaders.IF_MATCH, entityTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"companyName\": \"OOCL\"}")
+                .exchange()
+        //then
+                .expectStatus().isEqualTo(412);
+    }
+}
@@ -0,0 +1,162 @@
+package com.rest.springbootemployee.controller;
+
+import com.rest.springbootemployee.controller.dto.EmployeeResponse;
+import com.rest.springbootemployee.pojo.Employee;
+import com.rest.springbootemployee.pojo.Gender;
+import com.rest.springbootemployee.repository.EmployeeJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.hamcrest.Matchers.contains;
+
+@SpringBootTest(properties = "spring.main.web-application-type=reactive")
+@AutoConfigureWebTestClient
+@ActiveProfiles(profiles = {"test", "reactive"})
+public class ReactiveEmployeeControllerTest {
+
+    @Autowired
+    WebTestClient client;
+
+    @Autowired
+    EmployeeJpaRepository employeeJpaRepository;
+
+    @BeforeEach
+    void prepareData(){
+        employeeJpaRepository.deleteAll();
+    }
+
+    @Test
+    void should_get_all_employees_when_get_given_employees() {
+        //given
+        employeeJpaRepository.save(new Employee(1, "Sally", 22, Gender.FEMALE, 10000));
+
+        //when
+        client.get().uri("/employees").exchange()
+        //then
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].name").isEqualTo("Sally")
+                .jsonPath("$[0].gender").isEqualTo("female")
+                .jsonPath("$[0].salary").doesNotExist();
+    }
+
+    @Test
+    void should_stream_employees_on_demand_when_get_given_ndjson_accepted() {
+        //given
+        employeeJpaRepository.save(new Employee(1, "Sally", 22, Gender.FEMALE, 10000));
+        employeeJpaRepository.save(new Employee(2, "Lily", 23, Gender.FEMALE, 9000));
+        employeeJpaRepository.save(new Employee(3, "Tom", 24, Gender.MALE, 8000));
+
+        //when
+        Flux<EmployeeResponse> employees = client.get().uri("/employees")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(EmployeeResponse.class)
+                .getResponseBody();
+
+        //then
+        StepVerifier.create(employees, 1)
+                .expectNextMatches(employee -> "Sally".equals(employee.getName()))
+                .thenRequest(2)
+                .expectNextMatches(employee -> "Lily".equals(employee.getName()))
+                .expectNextMatches(employee -> "Tom".equals(employee.getName()))
+                .verifyComplete();
+    }
+
+    @Test
+    void should_get_employees_when_get_given_gender_and_page() {
+        //given
+        employeeJpaRepository.save(new Employee(1, "Sally", 22, Gender.FEMALE, 10000));
+        employeeJpaRepository.save(new Employee(2, "Tom", 23, Gender.MALE, 9000));
+        employeeJpaRepository.save(new Employee(3, "Lily", 24, Gender.FEMALE, 8000));
+
+        //when
+        client.get().uri("/employees?gender=Female").exchange()
+        //then
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[*].name").value(contains("Sally", "Lily"));
+        client.get().uri("/employees?page=1&pageSize=2").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[*].name").value(contains("Lily"));
+    }
+
+    @Test
+    void should_return_not_modified_when_get_by_id_given_current_entity_tag() {
+        //given
+        Employee employee = employeeJpaRepository.save(new Employee(1, "Sally", 22, Gender.FEMALE, 10000));
+        String entityTag = client.get().uri("/employees/{id}", employee.getId()).exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.name").isEqualTo("Sally")
+                .returnResult().getResponseHeaders().getETag();
+
+        //when
+        client.get().uri("/employees/{id}", employee.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, entityTag)
+                .exchange()
+        //then
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    void should_return_bad_request_when_get_given_parameters_served_only_by_servlet_stack() {
+        //when
+        client.get().uri("/employees?limit=2").exchange()
+        //then
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errorMessage").isEqualTo("UnsupportedParameterException");
+        client.get().uri("/employees?ids=1,2").exchange()
+                .expectStatus().isBadRequest();
+        client.get().uri("/employees?page=0&pageSize=2&fields=name").exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void should_return_404_when_get_by_id_given_not_existing_id() {
+        //when
+        client.get().uri("/employees/{id}", 99).exchange()
+        //then
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.errorMessage").isEqualTo("EmployeeNotFoundException");
+    }
+
+    @Test
+    void should_create_update_and_delete_employee_when_write_given_employee_request() {
+        //when
+        EmployeeResponse created = client.post().uri("/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\": \"Lisa\", \"age\": 21, \"gender\": \"female\", \"salary\": 2000}")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(EmployeeResponse.class)
+                .returnResult().getResponseBody();
+        client.put().uri("/employees/{id}", created.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"age\": 30}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody().jsonPath("$.age").isEqualTo(30);
+        client.get().uri("/employees/{id}", created.getId()).exchange()
+                .expectBody().jsonPath("$.age").isEqualTo(30);
+        client.delete().uri("/employees/{id}", created.getId()).exchange()
+        //then
+                .expectStatus().isNoContent();
+        client.get().uri("/employees/{id}", created.getId()).exchange()
+                .expectStatus().isNotFound();
+    }
+}
@@ -0,0 +1,107 @@
+package com.rest.springbootemployee.controller.mapper;
+
+import com.rest.springbootemployee.controller.dto.CompanyRequest;
+import com.rest.springbootemployee.controller.dto.CompanyResponse;
+import com.rest.springbootemployee.controller.dto.EmployeeResponse;
+import com.rest.springbootemployee.pojo.Company;
+import com.rest.springbootemployee.pojo.Employee;
+import com.rest.springbootemployee.pojo.Gender;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.springframework.beans.BeanUtils;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@ExtendWith(SpringExtension.class)
+public class CompanyMapperTest {
+
+    @Spy
+    EmployeeMapper employeeMapper;
+
+    @InjectMocks
+    CompanyMapper companyMapper;
+
+    @Test
+    void should_map_same_properties_as_bean_utils_when_to_response_given_company() {
+        //given
+        ArrayList<Employee> employees = new ArrayList<Employee>() {{
+            add(new Employee(1, "Sally", 22, Gender.FEMALE, 10000, 1));
+            add(new Employee(2, "Tom", 26, Gender.MALE, 5000, 1));
+        }};
+        Company company = new Company(1, "OOCL", employees);
+        CompanyResponse expected = toResponseWithBeanUtils(company);
+
+        //when
+        CompanyResponse companyResponse = companyMapper.toResponse(company);
+
+        //then
+        assertEquals(expected.getId(), companyResponse.getId());
+        assertEquals(expected.getCompanyName(), companyResponse.getCompanyName());
+        assertEquals(expected.getEmployeeList().size(), companyResponse.getEmployeeList().size());
+        for (int i = 0; i < expected.getEmployeeList().size(); i++) {
+            EmployeeResponse expectedEmployee = expected.getEmployeeList().get(i);
+            EmployeeResponse employeeResponse = companyResponse.getEmployeeList().get(i);
+            assertEquals(expectedEmployee.getId(), employeeResponse.getId());
+            assertEquals(expectedEmployee.getName(), employeeResponse.getName());
+            assertEquals(expectedEmployee.getAge(), employeeResponse.getAge());
+            assertEquals(employees.get(i).getGender().getValue(), employeeResponse.getGender());
+        }
+    }
+
+    @Test
+    void should_keep_employee_list_null_when_to_response_given_company_without_employees() {
+        //given
+        Company company = new Company(1, "OOCL", null);
+        CompanyResponse expected = toResponseWithBeanUtils(company);
+
+        //when
+        CompanyResponse companyResponse = companyMapper.toResponse(company);
+
+        //then
+        assertEquals(expected.getId(), companyResponse.getId());
+        assertEquals(expected.getCompanyName(), companyResponse.getCompanyName());
+        assertNull(expected.getEmployeeList());
+        assertNull(companyResponse.getEmployeeList());
+    }
+
+    @Test
+    void should_map_same_properties_as_bean_utils_when_to_entity_given_company_request() {
+        //given
+        CompanyRequest companyRequest = new CompanyRequest();
+        companyRequest.setCompanyName("OOCL");
+        Company expected = new Company();
+        BeanUtils.copyProperties(companyRequest, expected);
+
+        //when
+        Company company = companyMapper.toEntity(companyRequest);
+
+        //then
+        assertEquals(expected.getId(), company.getId());
+        assertEquals(expected.getCompanyName(), company.getCompanyName());
+        assertEquals(expected.getEmployeeList(), company.getEmployeeList());
+    }
+
+    private CompanyResponse toResponseWithBeanUtils(Company company) {
+        CompanyResponse companyResponse = new CompanyResponse();
+        if (company.getEmployeeList() != null) {
+            List<EmployeeResponse> employeeResponses = company.getEmployeeList().stream()
+                    .map(employee -> {
+                        EmployeeResponse employeeResponse = new EmployeeResponse();
+                        BeanUtils.copyProperties(employee, employeeResponse);
+                        return employeeResponse;
+                    })
+                    .collect(Collectors.toList());
+            companyResponse.setEmployeeList(employeeResponses);
+        }
+        BeanUtils.copyProperties(company, companyResponse);
+        return companyResponse;
+    }
+}
@@ -0,0 +1,104 @@
+package com.rest.springbootemployee.controller.mapper;
+
+import com.rest.springbootemployee.controller.dto.EmployeeRequest;
+import com.rest.springbootemployee.controller.dto.EmployeeResponse;
+import com.rest.springbootemployee.execption.InvalidGenderException;
+import com.rest.springbootemployee.pojo.Employee;
+import com.rest.springbootemployee.pojo.EmployeeSummary;
+import com.rest.springbootemployee.pojo.Gender;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeanUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class EmployeeMapperTest {
+
+    EmployeeMapper employeeMapper = new EmployeeMapper();
+
+    @Test
+    void should_map_same_properties_as_bean_utils_when_to_response_given_employee() {
+        //given
+        Employee employee = new Employee(1, "Susan", 23, Gender.FEMALE, 10000, 2);
+        EmployeeResponse expected = new EmployeeResponse();
+        BeanUtils.copyProperties(employee, expected);
+
+        //when
+        EmployeeResponse employeeResponse = employeeMapper.toResponse(employee);
+
+        //then
+        assertEquals(expected.getId(), employeeResponse.getId());
+        assertEquals(expected.getName(), employeeResponse.getName());
+        assertEquals(expected.getAge(), employeeResponse.getAge());
+        assertEquals("female", employeeResponse.getGender());
+    }
+
+    @Test
+    void should_map_null_properties_as_bean_utils_when_to_response_given_empty_employee() {
+        //given
+        Employee employee = new Employee();
+        EmployeeResponse expected = new EmployeeResponse();
+        BeanUtils.copyProperties(employee, expected);
+
+        //when
+        EmployeeResponse employeeResponse = employeeMapper.toResponse(employee);
+
+        //then
+        assertEquals(expected.getId(), employeeResponse.getId());
+        assertEquals(expected.getName(), employeeResponse.getName());
+        assertEquals(expected.getAge(), employeeResponse.getAge());
+        assertEquals(expected.getGender(), employeeResponse.getGender());
+    }
+
+    @Test
+    void should_map_same_properties_as_bean_utils_when_to_response_given_employee_summary() {
+        //given
+        EmployeeSummary employeeSummary = new EmployeeSummary(1, "Susan", 23, Gender.FEMALE);
+        EmployeeResponse expected = new EmployeeResponse();
+        BeanUtils.copyProperties(employeeSummary, expected);
+
+        //when
+        EmployeeResponse employeeResponse = employeeMapper.toResponse(employeeSummary);
+
+        //then
+        assertEquals(expected.getId(), employeeResponse.getId());
+        assertEquals(expected.getName(), employeeResponse.getName());
+        assertEquals(expected.getAge(), employeeResponse.getAge());
+        assertEquals("female", employeeResponse.getGender());
+    }
+
+    @Test
+    void should_map_same_properties_as_bean_utils_when_to_entity_given_employee_request() {
+        //given
+        EmployeeRequest employeeRequest = new EmployeeRequest();
+        employeeRequest.setName("Susan");
+        employeeRequest.setAge(23);
+        employeeRequest.setGender(" Female ");
+        employeeRequest.setSalary(10000);
+        employeeRequest.setCompanyId(2);
+        Employee expected = new Employee();
+        BeanUtils.copyProperties(employeeRequest, expected);
+
+        //when
+        Employee employee = employeeMapper.toEntity(employeeRequest);
+
+        //then
+        assertEquals(expected.getId(), employee.getId());
+        assertEquals(expected.getName(), employee.getName());
+        assertEquals(expected.getAge(), employee.getAge());
+        assertEquals(Gender.FEMALE, employee.getGender());
+        assertEquals(expected.getSalary(), employee.getSalary());
+        assertEquals(expected.getCompanyId(), employee.getCompanyId());
+    }
+
+    @Test
+    void should_reject_gender_when_to_entity_given_unknown_gender() {
+        //given
+        EmployeeRequest employeeRequest = new EmployeeRequest();
+        employeeRequest.setGender("unknown");
+
+        //when
+        //then
+        assertThrows(InvalidGenderException.class, () -> employeeMapper.toEntity(employeeRequest));
+    }
+}
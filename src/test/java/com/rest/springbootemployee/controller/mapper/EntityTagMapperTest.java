@@ -0,0 +1,71 @@
+package com.rest.springbootemployee.controller.mapper;
+
+import com.rest.springbootemployee.execption.VersionMismatchException;
+import com.rest.springbootemployee.pojo.Company;
+import com.rest.springbootemployee.pojo.CompanyMemberVersion;
+import com.rest.springbootemployee.pojo.CompanyVersion;
+import com.rest.springbootemployee.pojo.Employee;
+import com.rest.springbootemployee.pojo.Gender;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class EntityTagMapperTest {
+
+    EntityTagMapper entityTagMapper = new EntityTagMapper();
+
+    @Test
+    void should_parse_version_when_to_version_given_entity_tag() {
+        //when
+        Long version = entityTagMapper.toVersion(entityTagMapper.toEntityTag(3));
+
+        //then
+        assertEquals(3L, version);
+        assertNull(entityTagMapper.toVersion("*"));
+        assertThrows(VersionMismatchException.class, () -> entityTagMapper.toVersion("W/\"3\""));
+    }
+
+    @Test
+    void should_match_query_result_when_to_entity_tag_given_loaded_company() {
+        //given
+        Employee sally = new Employee(3, "Sally", 22, Gender.FEMALE, 10000, 1);
+        sally.setVersion(2);
+        Employee tom = new Employee(5, "Tom", 23, Gender.MALE, 8000, 1);
+        Company company = new Company(1, "ABC", new ArrayList<Employee>() {{
+            add(tom);
+            add(sally);
+        }});
+        company.setVersion(4);
+
+        //when
+        String entityTag = entityTagMapper.toEntityTag(CompanyVersion.of(company));
+
+        //then
+        assertEquals(entityTagMapper.toEntityTag(CompanyVersion.of(Arrays.asList(
+                new CompanyMemberVersion(4L, 3, 2L), new CompanyMemberVersion(4L, 5, 0L)))), entityTag);
+        assertEquals(4L, entityTagMapper.toVersion(entityTag, CompanyVersion.of(company)));
+        assertThrows(VersionMismatchException.class, () -> entityTagMapper.toVersion(entityTag,
+                CompanyVersion.of(Collections.singletonList(new CompanyMemberVersion(4L, null, null)))));
+    }
+
+    @Test
+    void should_change_entity_tag_when_to_entity_tag_given_employees_replaced_with_same_id_and_version_sums() {
+        //given
+        CompanyVersion before = CompanyVersion.of(Arrays.asList(
+                new CompanyMemberVersion(4L, 1, 0L), new CompanyMemberVersion(4L, 4, 1L)));
+
+        //when
+        CompanyVersion after = CompanyVersion.of(Arrays.asList(
+                new CompanyMemberVersion(4L, 2, 1L), new CompanyMemberVersion(4L, 3, 0L)));
+
+        //then
+        assertNotEquals(entityTagMapper.toEntityTag(before), entityTagMapper.toEntityTag(after));
+    }
+}
@@ -0,0 +1,159 @@
+package com.rest.springbootemployee.datasource;
+
+import com.rest.springbootemployee.pojo.Employee;
+import com.rest.springbootemployee.pojo.Gender;
+import com.rest.springbootemployee.repository.EmployeeJpaRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import javax.persistence.EntityManagerFactory;
+import javax.servlet.http.Cookie;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+// nothing replicates between the two H2 databases, so where a row exists tells which side served a read
+@SpringBootTest(properties = {
+        "replica.enabled=true",
+        "replica.datasource.jdbc-url=" + ReplicaRoutingTest.REPLICA_URL,
+        "replica.max-lag=PT5S",
+        "replica.heartbeat-interval=PT1H",
+        "replica.read-your-writes-window=PT5S"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles(profiles = "test")
+class ReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replicadb;DB_CLOSE_DELAY=-1";
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL));
+
+    @Autowired
+    MockMvc client;
+
+    @Autowired
+    EmployeeJpaRepository employeeJpaRepository;
+
+    @Autowired
+    ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void prepareData() {
+        Flyway.configure()
+                .dataSource(replica.getDataSource())
+                .locations("classpath:db/migration/h2")
+                .load()
+                .migrate();
+        replica.update("delete from employee");
+        replica.update("insert into employee (id, name, age, gender, salary, version) values (900, 'Replica', 30, 0, 1000, 0)");
+        employeeJpaRepository.deleteAll();
+        employeeJpaRepository.save(new Employee(1, "Primary", 22, Gender.FEMALE, 10000));
+    }
+
+    @Test
+    void should_read_from_replica_when_get_given_replica_within_lag_tolerance() throws Exception {
+        //given
+        replicaBeatAgo(0);
+
+        //when
+        client.perform(MockMvcRequestBuilders.get("/employees"))
+        //then
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[*].name", hasItem("Replica")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[*].name", not(hasItem("Primary"))));
+    }
+
+    @Test
+    void should_read_from_primary_when_get_given_replica_beyond_lag_tolerance() throws Exception {
+        //given
+        replicaBeatAgo(60_000);
+
+        //when
+        client.perform(MockMvcRequestBuilders.get("/employees"))
+        //then
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[*].name", hasItem("Primary")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[*].name", not(hasItem("Replica"))));
+    }
+
+    @Test
+    void should_read_own_write_from_primary_when_get_given_primary_until_cookie_from_post() throws Exception {
+        //given
+        replicaBeatAgo(0);
+        MvcResult created = client.perform(MockMvcRequestBuilders.post("/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Lisa\", \"age\": 21, \"gender\": \"female\", \"salary\": 2000}"))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andReturn();
+        Cookie primaryUntil = created.getResponse().getCookie(ReadYourWritesFilter.PRIMARY_UNTIL_COOKIE);
+        assertNotNull(primaryUntil);
+
+        //when
+        client.perform(MockMvcRequestBuilders.get("/employees").cookie(primaryUntil))
+        //then
+                .andExpect(MockMvcResultMatchers.jsonPath("$[*].name", hasItem("Lisa")));
+        client.perform(MockMvcRequestBuilders.get("/employees"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[*].name", hasItem("Replica")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[*].name", not(hasItem("Lisa"))));
+    }
+
+    @Test
+    void should_ignore_cookie_when_get_given_primary_until_beyond_window() throws Exception {
+        //given
+        replicaBeatAgo(0);
+        Cookie forged = new Cookie(ReadYourWritesFilter.PRIMARY_UNTIL_COOKIE, Long.toString(Long.MAX_VALUE));
+
+        //when
+        client.perform(MockMvcRequestBuilders.get("/employees").cookie(forged))
+        //then
+                .andExpect(MockMvcResultMatchers.jsonPath("$[*].name", hasItem("Replica")));
+    }
+
+    @Test
+    void should_keep_replica_row_out_of_cache_when_get_by_other_client_given_put_not_yet_replicated() throws Exception {
+        //given
+        Employee employee = employeeJpaRepository.save(new Employee(null, "Tom", 30, Gender.MALE, 1000));
+        replica.update("insert into employee (id, name, age, gender, salary, version) values (?, 'Tom', 30, 1, 1000, 0)",
+                employee.getId());
+        replicaBeatAgo(0);
+        MvcResult updated = client.perform(MockMvcRequestBuilders.put("/employees/{id}", employee.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Tom\", \"age\": 31, \"gender\": \"male\", \"salary\": 1000}"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn();
+        Cookie primaryUntil = updated.getResponse().getCookie(ReadYourWritesFilter.PRIMARY_UNTIL_COOKIE);
+        // as on a node that did not serve the write
+        entityManagerFactory.getCache().evictAll();
+
+        //when
+        client.perform(MockMvcRequestBuilders.get("/employees/{id}", employee.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.age").value(30));
+
+        //then
+        assertFalse(entityManagerFactory.getCache().contains(Employee.class, employee.getId()));
+        client.perform(MockMvcRequestBuilders.get("/employees/{id}", employee.getId()).cookie(primaryUntil))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.age").value(31));
+    }
+
+    private void replicaBeatAgo(long millis) {
+        replica.update("update replica_heartbeat set beat_at = ? where id = 1", System.currentTimeMillis() - millis);
+        replicaLagMonitor.measureLag();
+    }
+}
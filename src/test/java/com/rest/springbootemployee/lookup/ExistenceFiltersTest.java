@@ -0,0 +1,70 @@
+package com.rest.springbootemployee.lookup;
+
+import com.rest.springbootemployee.repository.CompanyJpaRepository;
+import com.rest.springbootemployee.repository.EmployeeJpaRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(SpringExtension.class)
+public class ExistenceFiltersTest {
+
+    @Mock
+    EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    @Mock
+    EmployeeJpaRepository employeeJpaRepository;
+
+    @Mock
+    CompanyJpaRepository companyJpaRepository;
+
+    @InjectMocks
+    ExistenceFilters existenceFilters;
+
+    @Test
+    void should_fall_through_to_database_when_might_contain_given_other_writers() {
+        //given
+        ReflectionTestUtils.setField(existenceFilters, "singleWriter", false);
+
+        //when
+        existenceFilters.rebuild();
+
+        //then
+        assertTrue(existenceFilters.mightContainEmployee(42));
+        assertTrue(existenceFilters.mightContainCompany(42));
+        verify(employeeJpaRepository, times(0)).streamIds();
+    }
+
+    @Test
+    void should_answer_misses_from_bitmaps_when_might_contain_given_single_writer() {
+        //given
+        ReflectionTestUtils.setField(existenceFilters, "singleWriter", true);
+        given(employeeJpaRepository.streamIds()).willReturn(Stream.of(1, 2));
+        given(companyJpaRepository.streamIds()).willReturn(Stream.of(1));
+
+        //when
+        existenceFilters.rebuild();
+
+        //then
+        assertTrue(existenceFilters.mightContainEmployee(2));
+        assertFalse(existenceFilters.mightContainEmployee(42));
+        assertTrue(existenceFilters.mightContainCompany(1));
+        assertFalse(existenceFilters.mightContainCompany(2));
+    }
+}
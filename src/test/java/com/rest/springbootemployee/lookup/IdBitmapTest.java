@@ -0,0 +1,80 @@
+package com.rest.springbootemployee.lookup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.PrimitiveIterator;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IdBitmapTest {
+
+    @Test
+    void should_report_every_id_as_possible_when_might_contain_given_bitmap_not_rebuilt() {
+        //given
+        IdBitmap idBitmap = new IdBitmap();
+
+        //when
+        //then
+        assertTrue(idBitmap.mightContain(42));
+    }
+
+    @Test
+    void should_answer_added_and_removed_ids_when_might_contain_given_rebuilt_bitmap() {
+        //given
+        IdBitmap idBitmap = new IdBitmap();
+        idBitmap.rebuild(IntStream.of(1, 2, 64).iterator());
+
+        //when
+        idBitmap.add(100_000);
+        idBitmap.remove(2);
+
+        //then
+        assertTrue(idBitmap.mightContain(1));
+        assertFalse(idBitmap.mightContain(2));
+        assertTrue(idBitmap.mightContain(64));
+        assertTrue(idBitmap.mightContain(100_000));
+        assertFalse(idBitmap.mightContain(65));
+        assertFalse(idBitmap.mightContain(Integer.MAX_VALUE));
+        assertFalse(idBitmap.mightContain(-1));
+    }
+
+    @Test
+    void should_keep_concurrent_writes_when_rebuild_given_ids_changed_while_reading() {
+        //given
+        IdBitmap idBitmap = new IdBitmap();
+        idBitmap.rebuild(IntStream.of(1, 2, 3).iterator());
+        PrimitiveIterator.OfInt ids = IntStream.of(1, 2, 3).peek(id -> {
+            if (id == 2) {
+                idBitmap.add(7);
+                idBitmap.remove(3);
+            }
+        }).iterator();
+
+        //when
+        idBitmap.rebuild(ids);
+
+        //then
+        assertTrue(idBitmap.mightContain(1));
+        assertTrue(idBitmap.mightContain(7));
+        assertFalse(idBitmap.mightContain(3));
+    }
+
+    @Test
+    void should_keep_write_committed_before_snapshot_when_rebuild_given_reader_opening_snapshot_late() {
+        //given
+        IdBitmap idBitmap = new IdBitmap();
+        idBitmap.rebuild(IntStream.of(1, 2, 3).iterator());
+
+        //when
+        idBitmap.rebuild(ids -> {
+            idBitmap.add(8);
+            IntStream.of(1, 2, 3).forEach(ids);
+        });
+
+        //then
+        assertTrue(idBitmap.mightContain(8));
+        assertTrue(idBitmap.mightContain(3));
+    }
+}
@@ -0,0 +1,102 @@
+package com.rest.springbootemployee.metrics;
+
+import com.rest.springbootemployee.pojo.Employee;
+import com.rest.springbootemployee.pojo.Gender;
+import com.rest.springbootemployee.repository.EmployeeJpaRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles(profiles = "test")
+public class RequestMetricsFilterTest {
+
+    @Autowired
+    MockMvc client;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    EmployeeJpaRepository employeeJpaRepository;
+
+    @BeforeEach
+    void prepareData(){
+        employeeJpaRepository.deleteAll();
+    }
+
+    @Test
+    void should_record_statements_rows_and_bytes_when_perform_get_given_employee() throws Exception{
+        //given
+        employeeJpaRepository.save(new Employee(null, "Sally", 22, Gender.FEMALE, 10000));
+        double statementsBefore = totalAmount(RequestMetricsFilter.SQL_STATEMENTS);
+        double rowsBefore = totalAmount(RequestMetricsFilter.ROWS_READ);
+        double bytesBefore = totalAmount(RequestMetricsFilter.RESPONSE_BYTES);
+
+        //when
+        String content = client.perform(MockMvcRequestBuilders.get("/employees/export"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        //then
+        assertThat(totalAmount(RequestMetricsFilter.SQL_STATEMENTS) - statementsBefore, equalTo(1.0));
+        assertThat(totalAmount(RequestMetricsFilter.ROWS_READ) - rowsBefore, equalTo(1.0));
+        assertThat(totalAmount(RequestMetricsFilter.RESPONSE_BYTES) - bytesBefore,
+                equalTo((double) content.getBytes().length));
+    }
+
+    @Test
+    void should_expose_service_timer_when_perform_get_metrics_given_employees_requested() throws Exception{
+        //given
+        client.perform(MockMvcRequestBuilders.get("/employees"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        //when
+        client.perform(MockMvcRequestBuilders.get("/actuator/metrics/service.employee")
+                        .param("tag", "method:findAll"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.measurements[?(@.statistic == 'COUNT')].value", hasItem(greaterThan(0.0))));
+        client.perform(MockMvcRequestBuilders.get("/actuator/metrics/http.server.sql.statements")
+                        .param("tag", "uri:/employees"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        client.perform(MockMvcRequestBuilders.get("/actuator/metrics/http.server.requests.percentile")
+                        .param("tag", "uri:/employees"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+    }
+
+    @Test
+    void should_record_rows_when_perform_get_given_projection_query() throws Exception{
+        //given
+        employeeJpaRepository.save(new Employee(null, "Sally", 22, Gender.FEMALE, 10000));
+        employeeJpaRepository.save(new Employee(null, "Tom", 25, Gender.MALE, 8000));
+        double rowsBefore = totalAmount(RequestMetricsFilter.ROWS_READ, "/employees/statistics/age");
+
+        //when
+        client.perform(MockMvcRequestBuilders.get("/employees/statistics/age"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        //then
+        assertThat(totalAmount(RequestMetricsFilter.ROWS_READ, "/employees/statistics/age") - rowsBefore, equalTo(2.0));
+    }
+
+    private double totalAmount(String name) {
+        return totalAmount(name, "/employees/export");
+    }
+
+    private double totalAmount(String name, String uri) {
+        DistributionSummary summary = meterRegistry.find(name).tag("uri", uri).summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+}
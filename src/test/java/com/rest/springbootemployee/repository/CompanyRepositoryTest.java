@@ -0,0 +1,128 @@
+package com.rest.springbootemployee.repository;
+
+import com.rest.springbootemployee.execption.CompanyNotFoundException;
+import com.rest.springbootemployee.pojo.Company;
+import com.rest.springbootemployee.pojo.Employee;
+import com.rest.springbootemployee.pojo.Gender;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompanyRepositoryTest {
+
+    @Test
+    void should_not_change_earlier_snapshot_when_insert_update_and_delete_given_companies() {
+        //given
+        CompanyRepository companyRepository = new CompanyRepository();
+        List<Company> snapshot = companyRepository.findAll();
+
+        //when
+        Company inserted = companyRepository.insert(new Company(null, "ABC", null));
+        Company updated = companyRepository.update(1, new Company(null, "DEF", null));
+        companyRepository.delete(2);
+
+        //then
+        assertEquals(2, snapshot.size());
+        assertEquals("OOCL", snapshot.get(0).getCompanyName());
+        assertEquals(3, inserted.getId());
+        assertEquals("DEF", updated.getCompanyName());
+        assertEquals(2, updated.getEmployeeList().size());
+        assertEquals(2, companyRepository.findAll().size());
+        assertEquals("DEF", companyRepository.findById(1).getCompanyName());
+        assertEquals(0, companyRepository.findEmployeesById(3).size());
+        assertThrows(CompanyNotFoundException.class, () -> companyRepository.findById(2));
+        assertThrows(UnsupportedOperationException.class, () -> companyRepository.findAll().clear());
+        assertThrows(UnsupportedOperationException.class,
+                () -> companyRepository.findEmployeesById(1).add(new Employee()));
+    }
+
+    @Test
+    void should_keep_stored_companies_when_mutate_returned_companies_given_companies() {
+        //given
+        CompanyRepository companyRepository = new CompanyRepository();
+        ArrayList<Employee> employees = new ArrayList<>();
+        employees.add(new Employee(1, "EEE", 27, Gender.MALE, 7000));
+        Company inserted = companyRepository.insert(new Company(null, "ABC", employees));
+
+        //when
+        companyRepository.findById(1).setCompanyName("DEF");
+        companyRepository.findAll().get(0).getEmployeeList().get(0).setSalary(1);
+        companyRepository.findByPage(1, 1).get(0).setId(5);
+        inserted.getEmployeeList().get(0).setName("FFF");
+        employees.get(0).setAge(40);
+
+        //then
+        Company company = companyRepository.findById(1);
+        assertEquals("OOCL", company.getCompanyName());
+        assertEquals(8000, company.getEmployeeList().get(0).getSalary());
+        assertEquals(1, companyRepository.findAll().get(0).getId());
+        Employee employee = companyRepository.findEmployeesById(3).get(0);
+        assertEquals("EEE", employee.getName());
+        assertEquals(27, employee.getAge());
+    }
+
+    @Test
+    void should_give_readers_consistent_snapshots_when_read_while_writing_concurrently() throws Exception {
+        //given
+        CompanyRepository companyRepository = new CompanyRepository();
+        int writerCount = 4;
+        int readerCount = 8;
+        int writesPerWriter = 500;
+        ExecutorService executorService = Executors.newFixedThreadPool(writerCount + readerCount);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        //when
+        for (int writer = 0; writer < writerCount; writer++) {
+            futures.add(executorService.submit(() -> {
+                start.await();
+                for (int i = 0; i < writesPerWriter; i++) {
+                    ArrayList<Employee> employees = new ArrayList<>();
+                    employees.add(new Employee(1, "Employee" + i, 20, Gender.FEMALE, 5000));
+                    Company company = companyRepository.insert(new Company(null, "Company" + i, employees));
+                    if (i % 2 == 0) {
+                        companyRepository.delete(company.getId());
+                    } else {
+                        companyRepository.update(company.getId(), new Company(null, "Renamed" + i, null));
+                    }
+                }
+                return null;
+            }));
+        }
+        for (int reader = 0; reader < readerCount; reader++) {
+            futures.add(executorService.submit(() -> {
+                start.await();
+                for (int i = 0; i < writesPerWriter; i++) {
+                    int previousId = Integer.MIN_VALUE;
+                    for (Company company : companyRepository.findAll()) {
+                        assertTrue(company.getId() > previousId || company.getId() <= 2);
+                        previousId = company.getId();
+                        assertTrue(company.getEmployeeList().size() <= 2);
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executorService.shutdown();
+
+        //then
+        List<Company> companies = companyRepository.findAll();
+        assertEquals(2 + writerCount * writesPerWriter / 2, companies.size());
+        assertEquals(companies.size(), companies.stream().map(Company::getId).distinct().count());
+        assertTrue(companies.stream().skip(2).allMatch(company -> company.getCompanyName().startsWith("Renamed")));
+    }
+}
@@ -0,0 +1,129 @@
+package com.rest.springbootemployee.repository;
+
+import com.rest.springbootemployee.execption.EmployeeNotFoundException;
+import com.rest.springbootemployee.pojo.Employee;
+import com.rest.springbootemployee.pojo.Gender;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EmployeeRepositoryTest {
+
+    @Test
+    void should_find_employees_by_id_and_gender_when_insert_given_employees() {
+        //given
+        EmployeeRepository employeeRepository = new EmployeeRepository();
+        employeeRepository.clean();
+
+        //when
+        Employee sally = employeeRepository.insert(new Employee(null, "Sally", 22, Gender.FEMALE, 10000));
+        Employee tom = employeeRepository.insert(new Employee(null, "Tom", 25, Gender.MALE, 8000));
+        Employee lily = employeeRepository.insert(new Employee(null, "Lily", 26, Gender.FEMALE, 9000));
+
+        //then
+        assertEquals(0, sally.getId());
+        assertEquals(1, tom.getId());
+        assertEquals(tom, employeeRepository.findById(1));
+        List<Employee> females = employeeRepository.findByGender(Gender.FEMALE);
+        assertEquals(2, females.size());
+        assertEquals(sally, females.get(0));
+        assertEquals(lily, females.get(1));
+        assertEquals(0, employeeRepository.findByGender(null).size());
+        assertEquals(lily, employeeRepository.findByPage(2, 2).get(0));
+    }
+
+    @Test
+    void should_update_only_age_and_salary_and_remove_from_indexes_when_update_and_delete_given_id() {
+        //given
+        EmployeeRepository employeeRepository = new EmployeeRepository();
+
+        //when
+        Employee updatedEmployee = employeeRepository.update(1, new Employee(null, "Other", 30, Gender.FEMALE, 9000));
+        employeeRepository.delete(2);
+
+        //then
+        assertEquals("AAA", updatedEmployee.getName());
+        assertEquals(30, updatedEmployee.getAge());
+        assertEquals(9000, updatedEmployee.getSalary());
+        assertEquals(Gender.MALE, updatedEmployee.getGender());
+        assertEquals(updatedEmployee, employeeRepository.findById(1));
+        assertEquals(3, employeeRepository.findByGender(Gender.MALE).size());
+        assertThrows(EmployeeNotFoundException.class, () -> employeeRepository.findById(2));
+        assertThrows(EmployeeNotFoundException.class, () -> employeeRepository.delete(2));
+        assertThrows(EmployeeNotFoundException.class, () -> employeeRepository.update(2, new Employee()));
+        assertEquals(5, employeeRepository.insert(new Employee(null, "EEE", 23, Gender.MALE, 8000)).getId());
+    }
+
+    @Test
+    void should_keep_ids_unique_and_indexes_consistent_when_insert_delete_and_read_concurrently() throws Exception {
+        //given
+        EmployeeRepository employeeRepository = new EmployeeRepository();
+        employeeRepository.clean();
+        int threadCount = 8;
+        int insertsPerThread = 2000;
+        int readsPerThread = 200;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount * 2);
+        CountDownLatch start = new CountDownLatch(1);
+        ConcurrentLinkedQueue<Integer> insertedIds = new ConcurrentLinkedQueue<>();
+        List<Future<?>> futures = new ArrayList<>();
+
+        //when
+        for (int thread = 0; thread < threadCount; thread++) {
+            futures.add(executorService.submit(() -> {
+                start.await();
+                for (int i = 0; i < insertsPerThread; i++) {
+                    Employee employee = employeeRepository.insert(
+                            new Employee(null, "Employee" + i, 20, i % 2 == 0 ? Gender.FEMALE : Gender.MALE, 5000));
+                    insertedIds.add(employee.getId());
+                    if (i % 4 == 0) {
+                        employeeRepository.delete(employee.getId());
+                    } else {
+                        employeeRepository.update(employee.getId(), new Employee(null, null, 21, null, 6000));
+                    }
+                }
+                return null;
+            }));
+            futures.add(executorService.submit(() -> {
+                start.await();
+                for (int i = 0; i < readsPerThread; i++) {
+                    for (Employee employee : employeeRepository.findByGender(Gender.FEMALE)) {
+                        assertEquals(Gender.FEMALE, employee.getGender());
+                    }
+                    employeeRepository.findAll();
+                    employeeRepository.findByPage(1, 10);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executorService.shutdown();
+
+        //then
+        Set<Integer> uniqueIds = new HashSet<>(insertedIds);
+        assertEquals(threadCount * insertsPerThread, uniqueIds.size());
+        List<Employee> employees = employeeRepository.findAll();
+        assertEquals(threadCount * insertsPerThread * 3 / 4, employees.size());
+        assertTrue(employees.stream().allMatch(employee -> employee.getAge() == 21 && employee.getSalary() == 6000));
+        Set<Integer> indexedIds = new HashSet<>();
+        indexedIds.addAll(employeeRepository.findByGender(Gender.FEMALE).stream().map(Employee::getId).collect(Collectors.toList()));
+        indexedIds.addAll(employeeRepository.findByGender(Gender.MALE).stream().map(Employee::getId).collect(Collectors.toList()));
+        assertEquals(employees.stream().map(Employee::getId).collect(Collectors.toSet()), indexedIds);
+    }
+}
@@ -0,0 +1,156 @@
+package com.rest.springbootemployee.repository;
+
+import com.rest.springbootemployee.pojo.Company;
+import com.rest.springbootemployee.pojo.Employee;
+import com.rest.springbootemployee.pojo.Gender;
+import com.rest.springbootemployee.service.CompanyService;
+import com.rest.springbootemployee.service.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+
+@SpringBootTest
+@ActiveProfiles(profiles = "test")
+class QueryPlanTest {
+
+    private static final String EMPLOYEE_TABLE_SCAN = "PUBLIC.EMPLOYEE.tableScan";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EmployeeJpaRepository employeeJpaRepository;
+
+    @Autowired
+    private CompanyJpaRepository companyJpaRepository;
+
+    @Autowired
+    private FieldProjectionRepository fieldProjectionRepository;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private CompanyService companyService;
+
+    @Test
+    void should_use_gender_index_when_explain_given_gender_queries() {
+        //when
+        List<String> findSummariesByGender = explain(() -> employeeJpaRepository.findSummariesByGender(Gender.FEMALE));
+        List<String> findAllByGender = explain(() -> employeeJpaRepository.findAllByGender(Gender.FEMALE));
+
+        //then
+        assertUsesIndex(findSummariesByGender, "IDX_EMPLOYEE_GENDER");
+        assertUsesIndex(findAllByGender, "IDX_EMPLOYEE_GENDER");
+    }
+
+    @Test
+    void should_use_covering_company_index_when_explain_given_company_employee_projections() {
+        //when
+        List<List<String>> plans = new ArrayList<>();
+        plans.add(explain(() -> employeeJpaRepository.findAllSummariesByCompanyId(1, Sort.by("id"))));
+        plans.add(explain(() -> employeeJpaRepository.findSummariesByCompanyId(1, PageRequest.of(0, 10, Sort.by("id")))));
+        plans.add(explain(() -> employeeJpaRepository.findSummariesByCompanyIdAfter(1, 0, PageRequest.of(0, 10))));
+        plans.add(explain(() -> fieldProjectionRepository.findEmployees(Collections.singletonList("name"), 1, Pageable.unpaged())));
+
+        //then
+        for (List<String> plan : plans) {
+            assertUsesIndex(plan, "IDX_EMPLOYEE_COMPANY_SUMMARY");
+        }
+    }
+
+    @Test
+    void should_not_scan_employees_when_explain_given_company_joins() {
+        //when
+        List<List<String>> plans = new ArrayList<>();
+        plans.add(explain(() -> companyJpaRepository.findAllWithEmployees()));
+        plans.add(explain(() -> companyJpaRepository.findAllWithEmployeesByIdIn(Collections.singletonList(1))));
+        plans.add(explain(() -> companyJpaRepository.findAllOverviews()));
+        plans.add(explain(() -> companyJpaRepository.findOverviewsByIdIn(Collections.singletonList(1))));
+        plans.add(explain(() -> companyJpaRepository.findMemberVersionsById(1)));
+
+        //then
+        for (List<String> plan : plans) {
+            assertThat(plan, everyItem(not(containsString(EMPLOYEE_TABLE_SCAN))));
+        }
+    }
+
+    @Test
+    void should_use_primary_key_when_explain_given_id_queries() {
+        //when
+        List<List<String>> plans = new ArrayList<>();
+        plans.add(explain(() -> employeeJpaRepository.findVersionById(1)));
+        plans.add(explain(() -> employeeJpaRepository.findSummariesAfter(0, PageRequest.of(0, 10))));
+        plans.add(explain(() -> fieldProjectionRepository.findEmployeeById(1, Collections.singletonList("name"))));
+
+        //then
+        for (List<String> plan : plans) {
+            assertThat(plan, everyItem(not(containsString(EMPLOYEE_TABLE_SCAN))));
+        }
+    }
+
+    @Test
+    void should_not_scan_employees_when_explain_given_entity_writes() {
+        //given
+        Company company = companyJpaRepository.save(new Company(null, "Spring", null));
+        Employee employee = employeeJpaRepository.save(new Employee(null, "Sally", 22, Gender.FEMALE, 10000, company.getId()));
+
+        //when
+        List<String> plan = explain(() -> {
+            inRolledBackTransaction(() -> employeeService.update(employee.getId(), new Employee(null, null, 30, null, 12000)));
+            inRolledBackTransaction(() -> companyService.delete(company.getId()));
+            inRolledBackTransaction(() -> employeeService.delete(employee.getId()));
+        });
+
+        //then
+        assertThat(plan, everyItem(not(containsString(EMPLOYEE_TABLE_SCAN))));
+        employeeJpaRepository.delete(employee);
+        companyJpaRepository.delete(company);
+    }
+
+    private static void assertUsesIndex(List<String> plans, String index) {
+        assertThat(plans, hasItem(containsString("PUBLIC." + index)));
+        assertThat(plans, everyItem(not(containsString(EMPLOYEE_TABLE_SCAN))));
+    }
+
+    private void inRolledBackTransaction(Runnable statement) {
+        transactionTemplate.executeWithoutResult(status -> {
+            statement.run();
+            status.setRollbackOnly();
+        });
+    }
+
+    private List<String> explain(Runnable repositoryCall) {
+        jdbcTemplate.execute("SET QUERY_STATISTICS FALSE");
+        jdbcTemplate.execute("SET QUERY_STATISTICS TRUE");
+        repositoryCall.run();
+        List<String> statements = jdbcTemplate.queryForList("select SQL_STATEMENT from INFORMATION_SCHEMA.QUERY_STATISTICS" +
+                " where lower(SQL_STATEMENT) like '%employee%'", String.class);
+        jdbcTemplate.execute("SET QUERY_STATISTICS FALSE");
+        List<String> plans = new ArrayList<>(statements.size());
+        for (String statement : statements) {
+            plans.add(jdbcTemplate.queryForObject("EXPLAIN " + statement, String.class));
+        }
+        assertThat(plans, not(Collections.emptyList()));
+        return plans;
+    }
+}
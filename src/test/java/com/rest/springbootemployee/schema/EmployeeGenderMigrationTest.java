@@ -0,0 +1,70 @@
+package com.rest.springbootemployee.schema;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EmployeeGenderMigrationTest {
+
+    private DriverManagerDataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void migrateToTextGender() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        flyway("2").migrate();
+    }
+
+    @Test
+    void should_encode_gender_when_migrate_given_mixed_case_and_blank_genders() {
+        //given
+        insertEmployee(1, " Female ");
+        insertEmployee(2, "MALE");
+        insertEmployee(3, "");
+
+        //when
+        flyway("3").migrate();
+
+        //then
+        assertEquals(Arrays.asList(0, 1, null),
+                jdbcTemplate.queryForList("select gender from employee order by id", Integer.class));
+    }
+
+    @Test
+    void should_fail_and_keep_genders_when_migrate_given_unmapped_gender() {
+        //given
+        insertEmployee(1, "female");
+        insertEmployee(2, "unknown");
+
+        //when
+        assertThrows(FlywayException.class, () -> flyway("3").migrate());
+
+        //then
+        assertEquals(Arrays.asList("female", "unknown"),
+                jdbcTemplate.queryForList("select gender from employee order by id", String.class));
+    }
+
+    private Flyway flyway(String target) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/h2")
+                .target(target)
+                .load();
+    }
+
+    private void insertEmployee(int id, String gender) {
+        jdbcTemplate.update("insert into employee (id, name, age, gender, salary, version) values (?, 'Tom', 30, ?, 1000, 0)",
+                id, gender);
+    }
+}
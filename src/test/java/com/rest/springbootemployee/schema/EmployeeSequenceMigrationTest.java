@@ -0,0 +1,61 @@
+package com.rest.springbootemployee.schema;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+
+class EmployeeSequenceMigrationTest {
+
+    private DriverManagerDataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void createSchema() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        flyway("1").migrate();
+    }
+
+    @Test
+    void should_allocate_ids_after_existing_rows_when_migrate_given_rows_ahead_of_sequence() {
+        //given
+        jdbcTemplate.update("insert into employee (id, name, age, gender, salary, version) values (120, 'Tom', 30, 'male', 1000, 0)");
+
+        //when
+        flyway("5").migrate();
+
+        //then
+        Long nextValue = jdbcTemplate.queryForObject("select next value for employee_seq", Long.class);
+        assertThat(nextValue - 49, greaterThan(120L));
+    }
+
+    @Test
+    void should_migrate_when_migrate_given_baselined_schema_without_company_id_index() {
+        //given
+        jdbcTemplate.execute("drop index idx_employee_company_id");
+
+        //when
+        flyway("5").migrate();
+
+        //then
+        assertThat(jdbcTemplate.queryForObject("select count(*) from information_schema.indexes" +
+                " where index_name = 'IDX_EMPLOYEE_COMPANY_SUMMARY'", Integer.class), equalTo(1));
+    }
+
+    private Flyway flyway(String target) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/h2")
+                .target(target)
+                .load();
+    }
+}
@@ -0,0 +1,61 @@
+package com.rest.springbootemployee.schema;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LegacySchemaMigrationTest {
+
+    private DriverManagerDataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void createSchemaFromOriginalEntities() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table company (id integer generated by default as identity," +
+                " company_name varchar(255), primary key (id))");
+        jdbcTemplate.execute("create table employee (id integer generated by default as identity, age integer," +
+                " company_id integer, gender varchar(255), name varchar(255), salary integer, primary key (id))");
+        jdbcTemplate.execute("alter table employee add constraint FK5v50ed2bjh60n1gc7ifuxmgf4" +
+                " foreign key (company_id) references company");
+        jdbcTemplate.update("insert into company (company_name) values ('OOCL')");
+        jdbcTemplate.update("insert into employee (name, age, gender, salary, company_id) values ('Sally', 22, 'female', 10000, 1)");
+        jdbcTemplate.update("insert into employee (name, age, gender, salary, company_id) values ('Tom', 25, 'Male', 8000, 1)");
+        jdbcTemplate.update("insert into employee (name, age, gender, salary) values ('Lily', 26, 'female', 5000)");
+    }
+
+    @Test
+    void should_upgrade_schema_when_migrate_given_schema_created_from_original_entities() {
+        //when
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+
+        //then
+        assertEquals(Arrays.asList(0L, 0L, 0L), jdbcTemplate.queryForList("select version from employee order by id", Long.class));
+        assertEquals(Arrays.asList(0, 1, 0), jdbcTemplate.queryForList("select gender from employee order by id", Integer.class));
+        assertThat(jdbcTemplate.queryForObject("select version from company where id = 1", Long.class), equalTo(0L));
+        Map<String, Object> summary = jdbcTemplate.queryForMap("select employee_count, total_salary from company_summary where company_id = 1");
+        assertThat(summary.get("EMPLOYEE_COUNT"), equalTo(2L));
+        assertThat(summary.get("TOTAL_SALARY"), equalTo(18000L));
+        Long nextValue = jdbcTemplate.queryForObject("select next value for employee_seq", Long.class);
+        assertThat(nextValue - 49, greaterThan(3L));
+    }
+}
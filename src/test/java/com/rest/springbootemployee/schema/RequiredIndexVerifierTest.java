@@ -0,0 +1,51 @@
+package com.rest.springbootemployee.schema;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles(profiles = "test")
+class RequiredIndexVerifierTest {
+
+    @Autowired
+    private RequiredIndexVerifier requiredIndexVerifier;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void should_find_no_missing_index_when_verify_given_migrated_schema() {
+        //when
+        List<String> missingIndexes = requiredIndexVerifier.findMissingIndexes();
+
+        //then
+        assertEquals(Collections.emptyList(), missingIndexes);
+    }
+
+    @Test
+    void should_fail_when_verify_given_dropped_gender_index() {
+        //given
+        jdbcTemplate.execute("drop index idx_employee_gender");
+
+        try {
+            //when
+            IllegalStateException exception = assertThrows(IllegalStateException.class,
+                    () -> requiredIndexVerifier.afterSingletonsInstantiated());
+
+            //then
+            assertEquals("Missing required indexes [employee.idx_employee_gender], check that the database migrations have been applied",
+                    exception.getMessage());
+        } finally {
+            jdbcTemplate.execute("create index idx_employee_gender on employee (gender, id, name, age)");
+        }
+    }
+}
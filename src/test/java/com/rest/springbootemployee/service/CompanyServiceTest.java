@@ -1,21 +1,31 @@
 package com.rest.springbootemployee.service;
 
+import com.rest.springbootemployee.execption.CompanyNotFoundException;
+import com.rest.springbootemployee.execption.InvalidSortException;
+import com.rest.springbootemployee.lookup.ExistenceFilters;
 import com.rest.springbootemployee.pojo.Company;
 import com.rest.springbootemployee.pojo.Employee;
+import com.rest.springbootemployee.pojo.EmployeeSummary;
+import com.rest.springbootemployee.pojo.Gender;
 import com.rest.springbootemployee.repository.CompanyJpaRepository;
+import com.rest.springbootemployee.repository.EmployeeJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -26,6 +36,20 @@ public class CompanyServiceTest {
     @Mock
     CompanyJpaRepository companyJpaRepository;
 
+    @Mock
+    EmployeeJpaRepository employeeJpaRepository;
+
+    @Mock
+    CompanySummaryService companySummaryService;
+
+    @Mock
+    ExistenceFilters existenceFilters;
+
+    @BeforeEach
+    void allowAllIds() {
+        given(existenceFilters.mightContainCompany(anyInt())).willReturn(true);
+    }
+
     @InjectMocks
     CompanyService companyService;
 
@@ -34,12 +58,12 @@ public class CompanyServiceTest {
         //given
         ArrayList<Company> companies = new ArrayList<>();
         ArrayList<Employee> employees = new ArrayList<Employee>() {{
-            add(new Employee(1, "Sally", 22, "female", 10000));
-            add(new Employee(1, "Lily", 26, "female", 5000));
+            add(new Employee(1, "Sally", 22, Gender.FEMALE, 10000));
+            add(new Employee(1, "Lily", 26, Gender.FEMALE, 5000));
         }};
         Company ooclCompany = new Company(1, "OOCL", employees);
         companies.add(ooclCompany);
-        given(companyJpaRepository.findAll()).willReturn(companies);
+        given(companyJpaRepository.findAllWithEmployees()).willReturn(companies);
 
         //when
         List<Company> allCompanies = companyService.findAll();
@@ -53,8 +77,8 @@ public class CompanyServiceTest {
     void should_a_company_when_find_by_id() {
         //given
         ArrayList<Employee> employees = new ArrayList<Employee>() {{
-            add(new Employee(1, "Sally", 22, "female", 10000));
-            add(new Employee(1, "Lily", 26, "female", 5000));
+            add(new Employee(1, "Sally", 22, Gender.FEMALE, 10000));
+            add(new Employee(1, "Lily", 26, Gender.FEMALE, 5000));
         }};
         Company company = new Company(1, "OOCL", employees);
         given(companyJpaRepository.findById(1)).willReturn(Optional.of(company));
@@ -71,19 +95,19 @@ public class CompanyServiceTest {
         //given
         ArrayList<Company> companies = new ArrayList<>();
         ArrayList<Employee> ooclEmployees = new ArrayList<Employee>() {{
-            add(new Employee(null, "Sally", 22, "female", 10000));
-            add(new Employee(null, "Lily", 26, "female", 5000));
+            add(new Employee(null, "Sally", 22, Gender.FEMALE, 10000));
+            add(new Employee(null, "Lily", 26, Gender.FEMALE, 5000));
         }};
         Company firstCompany = new Company(1, "Candy", ooclEmployees);
         ArrayList<Employee> coscoEmployees = new ArrayList<Employee>() {{
-            add(new Employee(null, "Sally", 22, "female", 10000));
-            add(new Employee(null, "Lily", 26, "female", 5000));
+            add(new Employee(null, "Sally", 22, Gender.FEMALE, 10000));
+            add(new Employee(null, "Lily", 26, Gender.FEMALE, 5000));
         }};
         Company secondCompany = new Company(1, "Apple", coscoEmployees);
         companies.add(firstCompany);
         companies.add(secondCompany);
-        PageImpl<Company> companyPage = new PageImpl<>(companies);
-        given(companyJpaRepository.findAll(PageRequest.of(0,1))).willReturn(companyPage);
+        given(companyJpaRepository.findIds(PageRequest.of(0,1))).willReturn(Collections.singletonList(1));
+        given(companyJpaRepository.findAllWithEmployeesByIdIn(Collections.singletonList(1))).willReturn(companies);
 
         //when
         List<Company> companiesByPage = companyService.findByPage(0, 1);
@@ -92,12 +116,27 @@ public class CompanyServiceTest {
         assertEquals(firstCompany, companiesByPage.get(0));
     }
 
+    @Test
+    void should_companies_when_find_after_given_last_id_and_limit() {
+        //given
+        Company company = new Company(2, "Apple", new ArrayList<>());
+        List<Company> companies = Collections.singletonList(company);
+        given(companyJpaRepository.findIdsAfter(1, PageRequest.of(0, 1))).willReturn(Collections.singletonList(2));
+        given(companyJpaRepository.findAllWithEmployeesByIdIn(Collections.singletonList(2))).willReturn(companies);
+
+        //when
+        List<Company> companiesAfter = companyService.findAfter(1, 1);
+
+        //then
+        assertEquals(company, companiesAfter.get(0));
+    }
+
     @Test
     void should_a_new_company_when_create_given_a_company() {
         //given
         ArrayList<Employee> ooclEmployees = new ArrayList<Employee>() {{
-            add(new Employee(1, "Sally", 22, "female", 10000));
-            add(new Employee(1, "Lily", 26, "female", 5000));
+            add(new Employee(1, "Sally", 22, Gender.FEMALE, 10000));
+            add(new Employee(1, "Lily", 26, Gender.FEMALE, 5000));
         }};
         Company companyToCreate = new Company(1, "Apple", ooclEmployees);
         given(companyJpaRepository.save(companyToCreate)).willReturn(companyToCreate);
@@ -113,46 +152,86 @@ public class CompanyServiceTest {
     void should_update_only_company_name_when_update_given_a_company() {
         //given
         ArrayList<Employee> employees = new ArrayList<Employee>() {{
-            add(new Employee(1, "Sally", 22, "female", 10000));
-            add(new Employee(2, "Lily", 26, "female", 5000));
+            add(new Employee(1, "Sally", 22, Gender.FEMALE, 10000));
+            add(new Employee(2, "Lily", 26, Gender.FEMALE, 5000));
         }};
-        Company companyToUpdate = new Company(1, "Apple", employees);
+        Company companyToUpdate = new Company(2, "Apple", null);
 
-        Company updatedCompany = new Company(1,"Banana", employees);
-        given(companyJpaRepository.findById(1)).willReturn(Optional.of(companyToUpdate));
-        given(companyJpaRepository.save(companyToUpdate)).willReturn(updatedCompany);
+        Company storedCompany = new Company(1,"Banana", employees);
+        given(companyJpaRepository.findById(1)).willReturn(Optional.of(storedCompany));
 
         //when
         Company company = companyService.update(1, companyToUpdate);
 
         //then
-        assertEquals(updatedCompany, company);
+        assertEquals(storedCompany, company);
+        assertEquals("Apple", company.getCompanyName());
+        assertEquals(1, company.getId());
+        assertEquals(employees, company.getEmployeeList());
+        verify(companyJpaRepository,times(1)).flush();
     }
 
     @Test
     void should_delete_company_when_delete_given_id() {
         //given
-        given(companyJpaRepository.existsById(1)).willReturn(true);
+        given(companyJpaRepository.deleteCompany(1)).willReturn(1);
         //when
         companyService.delete(1);
         //then
-        verify(companyJpaRepository,times(1)).deleteById(1);
+        verify(employeeJpaRepository,times(1)).detachFromCompany(1);
+        verify(companyJpaRepository,times(0)).findById(1);
+        verify(companySummaryService,times(1)).companyDeleted(1);
+    }
+
+    @Test
+    void should_throw_company_not_found_when_delete_given_missing_id() {
+        //given
+        given(companyJpaRepository.deleteCompany(1)).willReturn(0);
+        //when
+        //then
+        assertThrows(CompanyNotFoundException.class, () -> companyService.delete(1));
     }
 
     @Test
     void should_get_employees_when_find_by_id() {
         //given
-        ArrayList<Employee> employees = new ArrayList<Employee>() {{
-            add(new Employee(1, "Sally", 22, "female", 10000));
-            add(new Employee(1, "Lily", 26, "female", 5000));
+        List<EmployeeSummary> employees = new ArrayList<EmployeeSummary>() {{
+            add(new EmployeeSummary(1, "Sally", 22, Gender.FEMALE));
+            add(new EmployeeSummary(2, "Lily", 26, Gender.FEMALE));
         }};
-        Company company = new Company(1, "Apple", employees);
-        given(companyJpaRepository.findById(1)).willReturn(Optional.of(company));
+        given(employeeJpaRepository.findAllSummariesByCompanyId(1, Sort.by("id"))).willReturn(employees);
 
         //when
-        List<Employee> employeesById = companyService.findEmployeesById(1);
+        List<EmployeeSummary> employeesById = companyService.findEmployeesById(1);
 
         //then
         assertEquals(employeesById, employees);
+        verify(companyJpaRepository, times(0)).findById(1);
+    }
+
+    @Test
+    void should_query_page_sorted_with_id_tie_breaker_when_find_employees_by_page_given_sort() {
+        //given
+        List<EmployeeSummary> employees = Collections.singletonList(new EmployeeSummary(2, "Lily", 26, Gender.FEMALE));
+        given(employeeJpaRepository.findSummariesByCompanyId(1, PageRequest.of(0, 2, Sort.by(Sort.Order.desc("age"), Sort.Order.asc("id")))))
+                .willReturn(employees);
+
+        //when
+        List<EmployeeSummary> employeesByPage = companyService.findEmployeesByPage(1, 0, 2, Sort.by(Sort.Order.desc("age")));
+
+        //then
+        assertEquals(employees, employeesByPage);
+        assertThrows(InvalidSortException.class, () -> companyService.findEmployeesByPage(1, 0, 2, Sort.by("salary")));
+    }
+
+    @Test
+    void should_throw_company_not_found_when_find_employees_by_id_given_missing_company() {
+        //given
+        given(employeeJpaRepository.findAllSummariesByCompanyId(1, Sort.by("id"))).willReturn(Collections.emptyList());
+        given(companyJpaRepository.existsById(1)).willReturn(false);
+
+        //when
+        //then
+        assertThrows(CompanyNotFoundException.class, () -> companyService.findEmployeesById(1));
     }
 }
@@ -1,22 +1,46 @@
 package com.rest.springbootemployee.service;
 
 
+import com.rest.springbootemployee.execption.EmployeeNotFoundException;
+import com.rest.springbootemployee.execption.InvalidGenderException;
+import com.rest.springbootemployee.execption.InvalidGroupingException;
+import com.rest.springbootemployee.execption.TooManyIdsException;
+import com.rest.springbootemployee.lookup.ExistenceFilters;
 import com.rest.springbootemployee.pojo.Employee;
+import com.rest.springbootemployee.pojo.EmployeeSummary;
+import com.rest.springbootemployee.pojo.Gender;
+import com.rest.springbootemployee.pojo.SalaryStatistics;
 import com.rest.springbootemployee.repository.EmployeeJpaRepository;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -26,21 +50,41 @@ public class EmployeeServiceTest {
     @Mock
     EmployeeJpaRepository employeeJpaRepository;
 
+    @Mock
+    EntityManager entityManager;
+
+    @Mock
+    TransactionTemplate transactionTemplate;
+
+    @Mock
+    CacheService cacheService;
+
+    @Mock
+    CompanySummaryService companySummaryService;
+
+    @Mock
+    ExistenceFilters existenceFilters;
+
+    @BeforeEach
+    void allowAllIds() {
+        given(existenceFilters.mightContainEmployee(anyInt())).willReturn(true);
+    }
+
     @InjectMocks
     EmployeeService employeeService;
 
     @Test
     void should_return_all_employees_when_find_all_given_employees() {
         //given
-        ArrayList<Employee> preparedEmployees = new ArrayList<>();
-        Employee firstEmployee = new Employee(1, "Susan", 23, "female", 10000);
-        Employee secondEmployee = new Employee(1, "Mathew", 25, "male", 12000);
+        ArrayList<EmployeeSummary> preparedEmployees = new ArrayList<>();
+        EmployeeSummary firstEmployee = new EmployeeSummary(1, "Susan", 23, Gender.FEMALE);
+        EmployeeSummary secondEmployee = new EmployeeSummary(1, "Mathew", 25, Gender.MALE);
         preparedEmployees.add(firstEmployee);
         preparedEmployees.add(secondEmployee);
-        given(employeeJpaRepository.findAll()).willReturn(preparedEmployees);
+        given(employeeJpaRepository.findAllSummaries()).willReturn(preparedEmployees);
 
         //when
-        List<Employee> employees = employeeService.findAll();
+        List<EmployeeSummary> employees = employeeService.findAll();
 
         //then
         assertEquals(2, employees.size());
@@ -50,22 +94,26 @@ public class EmployeeServiceTest {
     @Test
     void should_update_only_age_and_salary_when_update_given_employee() {
         //given
-        Employee employeeInUpdateRequest = new Employee(2, "Mathew", 25, "male", 12000);
-        Employee updatedEmployee = new Employee(1, "Susan", 25, "female", 12000);
-        given(employeeJpaRepository.findById(1)).willReturn(Optional.of(employeeInUpdateRequest));
-        given(employeeJpaRepository.save(employeeInUpdateRequest)).willReturn(updatedEmployee);
+        Employee employeeInUpdateRequest = new Employee(2, "Mathew", 25, Gender.MALE, 12000);
+        Employee storedEmployee = new Employee(1, "Susan", 23, Gender.FEMALE, 10000);
+        given(employeeJpaRepository.findById(1)).willReturn(Optional.of(storedEmployee));
 
         //when
         Employee employee = employeeService.update(1, employeeInUpdateRequest);
 
         //then
-        assertEquals(employee, updatedEmployee);
+        assertEquals("Susan", employee.getName());
+        assertEquals(Gender.FEMALE, employee.getGender());
+        assertEquals(25, employee.getAge());
+        assertEquals(12000, employee.getSalary());
+        verify(companySummaryService,times(1)).salaryChanging(storedEmployee, 12000);
+        verify(employeeJpaRepository,times(1)).flush();
     }
 
     @Test
     void should_a_new_employee_when_create_given_employee() {
         //given
-        Employee employeeToCreate = new Employee(1, "Susan", 23, "female", 10000);
+        Employee employeeToCreate = new Employee(1, "Susan", 23, Gender.FEMALE, 10000, 2);
         given(employeeJpaRepository.save(employeeToCreate)).willReturn(employeeToCreate);
 
         //when
@@ -73,24 +121,39 @@ public class EmployeeServiceTest {
 
         //then
         assertEquals(employee, employeeToCreate);
+        verify(cacheService,times(1)).evictCompanyEmployees(2);
+        verify(companySummaryService,times(1)).employeeAdded(employeeToCreate);
     }
 
     @Test
     void should_a_employee_when_delete_given_id() {
         //given
-        given(employeeJpaRepository.existsById(1)).willReturn(true);
+        Employee employee = new Employee(1, "Susan", 23, Gender.FEMALE, 10000, 2);
+        given(employeeJpaRepository.findById(1)).willReturn(Optional.of(employee));
         //when
         employeeService.delete(1);
 
         //then
-        verify(employeeJpaRepository,times(1)).deleteById(1);
+        verify(companySummaryService,times(1)).employeeRemoved(employee);
+        verify(employeeJpaRepository,times(1)).delete(employee);
+        verify(cacheService,times(1)).evictCompanyEmployees(2);
+    }
+
+    @Test
+    void should_throw_employee_not_found_when_update_given_missing_id() {
+        //given
+        given(employeeJpaRepository.findById(1)).willReturn(Optional.empty());
+
+        //when
+        //then
+        assertThrows(EmployeeNotFoundException.class, () -> employeeService.update(1, new Employee(null, null, 30, null, null)));
     }
 
 
     @Test
     void should_get_a_employee_when_find_given_id() {
         //given
-        Employee employee = new Employee(1, "Susan", 23, "female", 10000);
+        Employee employee = new Employee(1, "Susan", 23, Gender.FEMALE, 10000);
         given(employeeJpaRepository.findById(1)).willReturn(Optional.of(employee));
 
         //when
@@ -103,15 +166,15 @@ public class EmployeeServiceTest {
     @Test
     void should_get_employees_when_find_given_gender() {
         //given
-        List<Employee> employees = new ArrayList<>();
-        Employee FirstEmployee = new Employee(1, "Susan", 23, "female", 10000);
-        Employee SecondEmployee = new Employee(2, "Mathew", 25, "female", 8000);
+        List<EmployeeSummary> employees = new ArrayList<>();
+        EmployeeSummary FirstEmployee = new EmployeeSummary(1, "Susan", 23, Gender.FEMALE);
+        EmployeeSummary SecondEmployee = new EmployeeSummary(2, "Mathew", 25, Gender.FEMALE);
         employees.add(FirstEmployee);
         employees.add(SecondEmployee);
-        given(employeeJpaRepository.findAllByGender("female")).willReturn(employees);
+        given(employeeJpaRepository.findSummariesByGender(Gender.FEMALE)).willReturn(employees);
 
         //when
-        List<Employee> employeesByGender = employeeService.findByGender("female");
+        List<EmployeeSummary> employeesByGender = employeeService.findByGender(Gender.FEMALE);
 
         //then
         assertEquals(employeesByGender.get(0), FirstEmployee);
@@ -121,19 +184,159 @@ public class EmployeeServiceTest {
     @Test
     void should_get_employees_when_find_given_page_and_pageSize() {
         //given
-        List<Employee> employees = new ArrayList<>();
-        Employee FirstEmployee = new Employee(1, "Susan", 23, "female", 10000);
-        Employee SecondEmployee = new Employee(2, "Mathew", 25, "female", 8000);
+        List<EmployeeSummary> employees = new ArrayList<>();
+        EmployeeSummary FirstEmployee = new EmployeeSummary(1, "Susan", 23, Gender.FEMALE);
+        EmployeeSummary SecondEmployee = new EmployeeSummary(2, "Mathew", 25, Gender.FEMALE);
         employees.add(FirstEmployee);
         employees.add(SecondEmployee);
-        PageImpl<Employee> employeesPage = new PageImpl<>(employees);
-        given(employeeJpaRepository.findAll(PageRequest.of(0,2))).willReturn(employeesPage);
+        given(employeeJpaRepository.findSummaries(PageRequest.of(0,2))).willReturn(employees);
 
         //when
-        List<Employee> employeeByPage = employeeService.findByPage(0, 2);
+        List<EmployeeSummary> employeeByPage = employeeService.findByPage(0, 2);
 
         //then
         assertEquals(employeeByPage.get(0), FirstEmployee);
         assertEquals(employeeByPage.get(1), SecondEmployee);
     }
+
+    @Test
+    void should_get_employees_after_id_when_find_after_given_last_id_and_limit() {
+        //given
+        List<EmployeeSummary> employees = new ArrayList<>();
+        EmployeeSummary thirdEmployee = new EmployeeSummary(3, "Susan", 23, Gender.FEMALE);
+        EmployeeSummary fourthEmployee = new EmployeeSummary(4, "Mathew", 25, Gender.FEMALE);
+        employees.add(thirdEmployee);
+        employees.add(fourthEmployee);
+        given(employeeJpaRepository.findSummariesAfter(2, PageRequest.of(0, 2))).willReturn(employees);
+
+        //when
+        List<EmployeeSummary> employeesAfter = employeeService.findAfter(2, 2);
+
+        //then
+        assertEquals(employeesAfter.get(0), thirdEmployee);
+        assertEquals(employeesAfter.get(1), fourthEmployee);
+    }
+
+    @Test
+    void should_visit_and_detach_each_employee_when_stream_all_given_employees() {
+        //given
+        Employee firstEmployee = new Employee(1, "Susan", 23, Gender.FEMALE, 10000);
+        Employee secondEmployee = new Employee(2, "Mathew", 25, Gender.MALE, 8000);
+        given(employeeJpaRepository.streamAll()).willReturn(Stream.of(firstEmployee, secondEmployee));
+        Session session = mock(Session.class);
+        given(entityManager.unwrap(Session.class)).willReturn(session);
+        given(session.getCacheMode()).willReturn(CacheMode.NORMAL);
+
+        //when
+        List<Employee> visited = new ArrayList<>();
+        employeeService.streamAll(visited::add);
+
+        //then
+        assertEquals(visited.get(0), firstEmployee);
+        assertEquals(visited.get(1), secondEmployee);
+        verify(entityManager, times(1)).detach(firstEmployee);
+        verify(entityManager, times(1)).detach(secondEmployee);
+        verify(session).setCacheMode(CacheMode.IGNORE);
+        verify(session).setCacheMode(CacheMode.NORMAL);
+    }
+
+    @Test
+    void should_create_in_chunks_and_report_failed_chunk_when_create_all_given_employees() {
+        //given
+        ReflectionTestUtils.setField(employeeService, "bulkChunkSize", 2);
+        Employee firstEmployee = new Employee(null, "Susan", 23, Gender.FEMALE, 10000);
+        Employee secondEmployee = new Employee(null, "Mathew", 25, Gender.MALE, 8000);
+        Employee thirdEmployee = new Employee(null, "Lily", 26, Gender.FEMALE, 9000);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        given(employeeJpaRepository.saveAll(Collections.singletonList(thirdEmployee)))
+                .willThrow(new IllegalStateException("duplicate"));
+
+        //when
+        BulkCreateResult result = employeeService.createAll(Stream.of(() -> firstEmployee, () -> secondEmployee, () -> thirdEmployee));
+
+        //then
+        assertEquals(2, result.getCreated());
+        assertEquals(1, result.getFailures().size());
+        assertEquals(2, result.getFailures().get(0).getFromIndex());
+        assertEquals(3, result.getFailures().get(0).getToIndex());
+        verify(employeeJpaRepository, times(1)).saveAll(Arrays.asList(firstEmployee, secondEmployee));
+    }
+
+    @Test
+    void should_fail_only_its_chunk_and_evict_when_create_all_given_record_that_cannot_be_mapped() {
+        //given
+        ReflectionTestUtils.setField(employeeService, "bulkChunkSize", 2);
+        Employee firstEmployee = new Employee(null, "Susan", 23, Gender.FEMALE, 10000);
+        Employee secondEmployee = new Employee(null, "Mathew", 25, Gender.MALE, 8000);
+        Employee fifthEmployee = new Employee(null, "Lily", 26, Gender.FEMALE, 9000);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        //when
+        BulkCreateResult result = employeeService.createAll(Stream.of(() -> firstEmployee, () -> secondEmployee,
+                () -> {
+                    throw new InvalidGenderException();
+                }, () -> secondEmployee, () -> fifthEmployee));
+
+        //then
+        assertEquals(3, result.getCreated());
+        assertEquals(1, result.getFailures().size());
+        assertEquals(2, result.getFailures().get(0).getFromIndex());
+        assertEquals(4, result.getFailures().get(0).getToIndex());
+        assertEquals("InvalidGenderException", result.getFailures().get(0).getMessage());
+        verify(employeeJpaRepository, times(1)).saveAll(Collections.singletonList(fifthEmployee));
+        verify(cacheService, times(1)).evictAllCompanyEmployees();
+    }
+
+    @Test
+    void should_get_salary_statistics_by_company_when_get_salary_statistics_given_group_by_company() {
+        //given
+        SalaryStatistics statistics = new SalaryStatistics(1, 2L, 6000, 10000, 8000.0, 16000L);
+        given(employeeJpaRepository.findSalaryStatisticsByCompany()).willReturn(Collections.singletonList(statistics));
+
+        //when
+        List<SalaryStatistics> salaryStatistics = employeeService.getSalaryStatistics(EmployeeService.GROUP_BY_COMPANY);
+
+        //then
+        assertEquals(Collections.singletonList(statistics), salaryStatistics);
+        assertThrows(InvalidGroupingException.class, () -> employeeService.getSalaryStatistics("salary"));
+    }
+
+    @Test
+    void should_throw_without_querying_when_find_by_id_given_id_rejected_by_existence_filter() {
+        //given
+        given(existenceFilters.mightContainEmployee(404)).willReturn(false);
+
+        //when
+        //then
+        assertThrows(EmployeeNotFoundException.class, () -> employeeService.findById(404));
+        verify(employeeJpaRepository, times(0)).findById(404);
+    }
+
+    @Test
+    void should_query_uncached_ids_in_chunks_and_keep_request_order_when_find_all_by_id_given_ids() {
+        //given
+        ReflectionTestUtils.setField(employeeService, "multiGetChunkSize", 2);
+        ReflectionTestUtils.setField(employeeService, "multiGetMaxIds", 10);
+        Employee cachedEmployee = new Employee(1, "Susan", 23, Gender.FEMALE, 10000);
+        Employee secondEmployee = new Employee(2, "Mathew", 25, Gender.MALE, 12000);
+        Employee thirdEmployee = new Employee(3, "Lily", 26, Gender.FEMALE, 9000);
+        given(cacheService.containsEmployee(1)).willReturn(true);
+        given(employeeJpaRepository.findById(1)).willReturn(Optional.of(cachedEmployee));
+        given(employeeJpaRepository.findAllById(Arrays.asList(3, 4))).willReturn(Collections.singletonList(thirdEmployee));
+        given(employeeJpaRepository.findAllById(Collections.singletonList(2))).willReturn(Collections.singletonList(secondEmployee));
+
+        //when
+        Map<Integer, Employee> employees = employeeService.findAllById(Arrays.asList(3, 1, 4, 2, 3));
+
+        //then
+        assertEquals(Arrays.asList(3, 1, 2), new ArrayList<>(employees.keySet()));
+        verify(employeeJpaRepository, times(0)).findAllById(Collections.singletonList(1));
+        assertThrows(TooManyIdsException.class, () -> employeeService.findAllById(Collections.nCopies(11, 1)));
+    }
 }
@@ -0,0 +1,78 @@
+package com.rest.springbootemployee.threading;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "virtual-threads.enabled=true",
+        "virtual-threads.pinned-threshold=PT0.01S"
+})
+@ActiveProfiles(profiles = "test")
+@EnabledIf("com.rest.springbootemployee.threading.VirtualThreads#isSupported")
+class VirtualThreadConfigurationTest {
+
+    @Autowired
+    ServletWebServerApplicationContext context;
+
+    @Autowired
+    TestRestTemplate client;
+
+    @Autowired
+    VirtualThreadPinningMonitor virtualThreadPinningMonitor;
+
+    @Test
+    void should_run_requests_on_virtual_threads_when_get_employees_given_virtual_threads_enabled() throws Exception {
+        //given
+        Executor executor = ((TomcatWebServer) context.getWebServer()).getTomcat().getConnector().getProtocolHandler().getExecutor();
+
+        //when
+        Future<Boolean> virtual = ((ExecutorService) executor).submit(() -> isVirtual(Thread.currentThread()));
+
+        //then
+        assertTrue(virtual.get(5, TimeUnit.SECONDS));
+        assertEquals(HttpStatus.OK, client.getForEntity("/employees", String.class).getStatusCode());
+    }
+
+    @Test
+    void should_count_pinned_thread_when_blocking_inside_synchronized_given_virtual_thread() throws Exception {
+        //given
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("pinned-");
+        Object monitor = new Object();
+        long pinnedBefore = virtualThreadPinningMonitor.getPinnedCount();
+
+        //when
+        executor.submit(() -> {
+            synchronized (monitor) {
+                Thread.sleep(100);
+            }
+            return null;
+        }).get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        //then
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (virtualThreadPinningMonitor.getPinnedCount() == pinnedBefore && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        assertTrue(virtualThreadPinningMonitor.getPinnedCount() > pinnedBefore);
+    }
+
+    private static boolean isVirtual(Thread thread) throws ReflectiveOperationException {
+        return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+    }
+}